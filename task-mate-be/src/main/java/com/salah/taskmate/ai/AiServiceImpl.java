@@ -6,6 +6,7 @@ import com.salah.taskmate.category.CategoryService;
 import com.salah.taskmate.category.dto.CategoryRequest;
 import com.salah.taskmate.category.dto.CategoryResponse;
 import com.salah.taskmate.shared.exception.AiServiceException;
+import com.salah.taskmate.task.TaskListQuery;
 import com.salah.taskmate.task.TaskService;
 import com.salah.taskmate.task.dto.TaskRequest;
 import com.salah.taskmate.task.dto.TaskResponse;
@@ -72,7 +73,7 @@ public class AiServiceImpl implements AiService {
     @Override
     public TaskResponse categorizeTask(UUID taskId, UUID userId) {
         try {
-            TaskResponse existingTask = taskService.getTaskById(taskId, userId);
+            TaskResponse existingTask = taskService.getTaskById(taskId, userId, false);
             String categoriesJson = getCategoriesAsJson(userId);
             String taskContent = buildTaskContent(existingTask);
 
@@ -99,7 +100,7 @@ public class AiServiceImpl implements AiService {
 
         } catch (Exception e) {
             log.error("Error categorizing task {} for user: {}", taskId, userId, e);
-            return taskService.getTaskById(taskId, userId);
+            return taskService.getTaskById(taskId, userId, false);
         }
     }
 
@@ -132,7 +133,7 @@ public class AiServiceImpl implements AiService {
     @Override
     public String summarizeAllTasks(UUID userId) {
         try {
-            Page<TaskResponse> allTasksPage = taskService.getAllTasks(userId, 0, MAX_TASKS_FOR_SUMMARY);
+            Page<TaskResponse> allTasksPage = taskService.getAllTasks(userId, TaskListQuery.UNFILTERED, 0, MAX_TASKS_FOR_SUMMARY, false);
 
             if (allTasksPage.isEmpty()) {
                 return "You don't have any tasks yet. Start by creating your first task!";
@@ -188,8 +189,7 @@ public class AiServiceImpl implements AiService {
     }
 
     private String getCategoriesAsJson(UUID userId) {
-        List<CategoryResponse> userCategories = categoryService.getCategoriesByUserId(userId);
-        return categoriesToJson(userCategories);
+        return categoryService.getCategoriesJsonByUserId(userId);
     }
 
     private String getCurrentDateTime() {
@@ -274,7 +274,7 @@ public class AiServiceImpl implements AiService {
 
         for (UUID taskId : taskIds) {
             try {
-                TaskResponse task = taskService.getTaskById(taskId, userId);
+                TaskResponse task = taskService.getTaskById(taskId, userId, false);
                 tasks.add(task);
             } catch (Exception e) {
                 log.warn("Failed to retrieve task {} for user {}: {}", taskId, userId, e.getMessage());
@@ -392,15 +392,6 @@ public class AiServiceImpl implements AiService {
         }
     }
 
-    private String categoriesToJson(List<CategoryResponse> categories) {
-        try {
-            return objectMapper.writeValueAsString(categories);
-        } catch (JsonProcessingException e) {
-            log.error("Error converting categories to JSON", e);
-            return "[]";
-        }
-    }
-
     private String tasksToJson(List<TaskResponse> tasks) {
         try {
             return objectMapper.writeValueAsString(tasks);
@@ -1,6 +1,7 @@
 package com.salah.taskmate.auth.service;
 
 import com.salah.taskmate.auth.EmailContentBuilder;
+import com.salah.taskmate.task.TaskReminderTarget;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,7 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.time.Year;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -59,4 +61,18 @@ public class EmailService {
 
         sendHtmlEmail(to, "Welcome to TaskMate", content);
     }
+
+    public void sendTaskReminderEmail(String to, String username, List<TaskReminderTarget> tasks) {
+        String content = contentBuilder.build("task-reminder", Map.of(
+                "username", username,
+                "tasks", tasks,
+                "appUrl", frontendUrl,
+                "year", Year.now().getValue()
+        ));
+
+        String subject = tasks.size() == 1
+                ? "⏰ Due soon: " + tasks.get(0).getTitle()
+                : "⏰ " + tasks.size() + " tasks due soon";
+        sendHtmlEmail(to, subject, content);
+    }
 }
@@ -1,9 +1,11 @@
 package com.salah.taskmate.category;
 
+import com.salah.taskmate.shared.id.UuidV7Generator;
 import com.salah.taskmate.task.Task;
 import com.salah.taskmate.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class Category {
     @Id
     @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(columnDefinition = "uuid", nullable = false, updatable = false)
     private UUID id;
 
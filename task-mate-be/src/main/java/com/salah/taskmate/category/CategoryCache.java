@@ -0,0 +1,92 @@
+package com.salah.taskmate.category;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.salah.taskmate.category.dto.CategoryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user categories, with the JSON handed to AI prompts serialized once per load. Entries are dropped after
+ * every category write commits and otherwise expire, so a write made outside this service is picked up within
+ * {@code expireAfterWrite}. Hit rate is published as the {@code cache.gets} meters tagged {@code cache=categories}.
+ */
+@Component
+public class CategoryCache {
+
+    private final LoadingCache<UUID, UserCategories> cache;
+
+    public CategoryCache(
+            CategoryRepository categoryRepository,
+            CategoryMapper categoryMapper,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${category.cache.max-users:10000}") long maxUsers,
+            @Value("${category.cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(userId -> UserCategories.of(
+                        categoryRepository.findAllByUserId(userId).stream().map(categoryMapper::toResponse).toList(),
+                        objectMapper));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "categories");
+    }
+
+    public List<CategoryResponse> getCategories(UUID userId) {
+        return cache.get(userId).categories();
+    }
+
+    public String getCategoriesJson(UUID userId) {
+        return cache.get(userId).json();
+    }
+
+    public Optional<CategoryResponse> findByName(UUID userId, String name) {
+        return Optional.ofNullable(cache.get(userId).byName().get(name));
+    }
+
+    // after completion, so a concurrent read cannot reload the entry from the state the write is replacing
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    private record UserCategories(List<CategoryResponse> categories, Map<String, CategoryResponse> byName, String json) {
+
+        static UserCategories of(List<CategoryResponse> categories, ObjectMapper objectMapper) {
+            try {
+                return new UserCategories(
+                        categories,
+                        // names are only unique per user by convention; renames are not checked
+                        categories.stream().collect(Collectors.toMap(
+                                CategoryResponse::getName, Function.identity(), (first, duplicate) -> first)),
+                        objectMapper.writeValueAsString(categories));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
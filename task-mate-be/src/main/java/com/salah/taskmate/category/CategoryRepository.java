@@ -1,7 +1,11 @@
 package com.salah.taskmate.category;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -11,9 +15,19 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     List<Category> findAllByUserId(UUID userId);
 
+    @Query("SELECT c FROM Category c WHERE c.id IN :categoryIds AND c.user.id = :userId")
+    List<Category> findAllByIdInAndUserId(
+            @Param("categoryIds") Collection<UUID> categoryIds,
+            @Param("userId") UUID userId);
+
     Optional<Category> findByIdAndUserId(UUID categoryId, UUID userId);
 
     boolean existsByNameAndUserId(String name, UUID userId);
 
-    Category findByNameAndUserId(String name, UUID userId);
+    @Modifying
+    @Query(value = """
+            UPDATE task SET updated_at = :now
+            WHERE id IN (SELECT task_id FROM task_category WHERE category_id = :categoryId)
+            """, nativeQuery = true)
+    int touchTasksByCategoryId(@Param("categoryId") UUID categoryId, @Param("now") LocalDateTime now);
 }
@@ -3,7 +3,9 @@ package com.salah.taskmate.category;
 import com.salah.taskmate.category.dto.CategoryRequest;
 import com.salah.taskmate.category.dto.CategoryResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -11,10 +13,12 @@ import java.util.UUID;
 public interface CategoryService {
     CategoryResponse createCategory(UUID userId, CategoryRequest categoryRequest);
     List<CategoryResponse> getCategoriesByUserId(UUID userId);
+    String getCategoriesJsonByUserId(UUID userId);
     CategoryResponse getCategoryById(UUID userId, UUID categoryId);
     CategoryResponse updateCategory(UUID userId, UUID categoryId, CategoryRequest categoryRequest);
     void deleteCategory(UUID userId, UUID categoryId);
-    List<Category> getCategoriesByIdsAndUserId(List<UUID> categoryIds, UUID userId);
+    List<Category> getOwnedCategories(Collection<UUID> categoryIds, UUID userId);
+    Map<UUID, Category> getOwnedCategoriesByIds(Collection<UUID> categoryIds, UUID userId);
     Set<String> getAllowedIcons();
 
     Optional<CategoryResponse> findByNameAndUserId(String categoryName, UUID userId);
@@ -5,15 +5,20 @@ import com.salah.taskmate.category.dto.CategoryResponse;
 import com.salah.taskmate.user.User;
 import com.salah.taskmate.user.UserService;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -23,6 +28,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final UserService userService;
+    private final CategoryCache categoryCache;
 
     private static final String CATEGORY_NOT_FOUND = "Category not found";
 
@@ -56,17 +62,23 @@ public class CategoryServiceImpl implements CategoryService {
         User user = userService.findUserById(userId);
         Category category = categoryMapper.toEntity(categoryRequest, user);
 
+        categoryCache.invalidate(userId);
         return categoryMapper.toResponse(categoryRepository.save(category));
     }
 
+    // stays on the primary: a load from a lagging replica would be cached until the entry expires
     @Override
     public List<CategoryResponse> getCategoriesByUserId(UUID userId) {
-        return categoryRepository.findAllByUserId(userId).stream()
-                .map(categoryMapper::toResponse)
-                .toList();
+        return categoryCache.getCategories(userId);
     }
 
     @Override
+    public String getCategoriesJsonByUserId(UUID userId) {
+        return categoryCache.getCategoriesJson(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(UUID categoryId, UUID userId) {
         Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(CATEGORY_NOT_FOUND));
@@ -83,6 +95,8 @@ public class CategoryServiceImpl implements CategoryService {
         category.setName(categoryRequest.getName());
         category.setIcon(categoryRequest.getIcon());
         category.setColor(categoryRequest.getColor());
+        categoryRepository.touchTasksByCategoryId(categoryId, LocalDateTime.now());
+        categoryCache.invalidate(userId);
         return categoryMapper.toResponse(categoryRepository.save(category));
     }
 
@@ -90,20 +104,36 @@ public class CategoryServiceImpl implements CategoryService {
     public void deleteCategory(UUID userId, UUID categoryId) {
         Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(CATEGORY_NOT_FOUND));
+        categoryRepository.touchTasksByCategoryId(categoryId, LocalDateTime.now());
         categoryRepository.delete(category);
+        categoryCache.invalidate(userId);
     }
 
+    /**
+     * Resolves every id to a category owned by the user, in request order and without duplicates. Ids that do not
+     * exist and ids owned by someone else are reported alike, so a caller cannot probe for other users' categories.
+     */
     @Override
-    public List<Category> getCategoriesByIdsAndUserId(List<UUID> categoryIds, UUID userId) {
-        List<Category> categories = categoryRepository.findAllById(categoryIds);
-
-        boolean allBelongsToUser = categories.stream()
-                .allMatch(category -> category.getUser().getId().equals(userId));
+    @Transactional(readOnly = true)
+    public List<Category> getOwnedCategories(Collection<UUID> categoryIds, UUID userId) {
+        Set<UUID> requestedIds = new LinkedHashSet<>(categoryIds);
+        Map<UUID, Category> ownedCategories = getOwnedCategoriesByIds(requestedIds, userId);
+
+        if (ownedCategories.size() != requestedIds.size()) {
+            List<UUID> unresolvedIds = requestedIds.stream().filter(id -> !ownedCategories.containsKey(id)).toList();
+            throw new EntityNotFoundException("Categories not found: " + unresolvedIds);
+        }
+        return requestedIds.stream().map(ownedCategories::get).toList();
+    }
 
-        if (!allBelongsToUser) {
-            throw new AccessDeniedException("One or more categories do not belong to this user");
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Category> getOwnedCategoriesByIds(Collection<UUID> categoryIds, UUID userId) {
+        if (categoryIds.isEmpty()) {
+            return Map.of();
         }
-        return categories;
+        return categoryRepository.findAllByIdInAndUserId(categoryIds, userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
     }
 
     @Override
@@ -113,10 +143,6 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public Optional<CategoryResponse> findByNameAndUserId(String categoryName, UUID userId) {
-        Category category = categoryRepository.findByNameAndUserId(categoryName, userId);
-        if (category == null) {
-            return Optional.empty();
-        }
-        return Optional.of(categoryMapper.toResponse(category));
+        return categoryCache.findByName(userId, categoryName);
     }
 }
@@ -0,0 +1,69 @@
+package com.salah.taskmate.config;
+
+import com.salah.taskmate.shared.datasource.LagAwareReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, active only when {@code app.datasource.replica.url} is set. Connections are taken lazily,
+ * at the first statement of a transaction, so by then the transaction's read-only flag is known: read-only
+ * transactions get a replica connection (or a primary one while the replica lags), everything else the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isEmpty()")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public LagAwareReplicaDataSource readDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+        return new LagAwareReplicaDataSource(primary, replica, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            LagAwareReplicaDataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,19 @@
+package com.salah.taskmate.shared.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
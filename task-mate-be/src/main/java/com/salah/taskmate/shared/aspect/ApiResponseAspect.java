@@ -19,6 +19,10 @@ public class ApiResponseAspect {
         Object result = joinPoint.proceed();
 
         if (result instanceof ResponseEntity<?> responseEntity) {
+            if (responseEntity.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return responseEntity;
+            }
+
             Object body = responseEntity.getBody();
 
             ApiResponse<Object> apiResponse = ApiResponse.builder()
@@ -0,0 +1,99 @@
+package com.salah.taskmate.shared.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Hands out replica connections while the replica's replay lag is within {@code maxLag}, and primary connections
+ * otherwise. Lag is polled on a schedule; a replica that cannot be reached is treated as lagging until the next
+ * successful check, so reads fall back to the primary instead of failing.
+ */
+@Slf4j
+public class LagAwareReplicaDataSource extends AbstractDataSource {
+
+    // caught up once everything received has been replayed (a restarted standby re-receives from a segment start,
+    // so receive can trail replay); otherwise lag is the age of the last replayed commit
+    private static final String REPLAY_LAG_SECONDS = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_replay_lsn() >= pg_last_wal_receive_lsn() THEN 0
+                ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp())::float8, 'Infinity')
+            END
+            """;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final JdbcTemplate replicaJdbc;
+    private volatile boolean replicaUsable;
+
+    public LagAwareReplicaDataSource(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.replicaJdbc.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        try {
+            Double lagSeconds = replicaJdbc.queryForObject(REPLAY_LAG_SECONDS, Double.class);
+            boolean usable = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+            if (usable != replicaUsable) {
+                if (usable) {
+                    log.info("Read replica caught up (lag {}s), routing read-only transactions to it", lagSeconds);
+                } else {
+                    log.warn("Read replica lag {}s exceeds {}, routing reads to the primary", lagSeconds, maxLag);
+                }
+            }
+            replicaUsable = usable;
+        } catch (RuntimeException e) {
+            markUnavailable(e);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaUsable) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markUnavailable(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (replicaUsable) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markUnavailable(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private void markUnavailable(Exception e) {
+        if (replicaUsable) {
+            log.warn("Read replica unavailable, routing reads to the primary: {}", e.getMessage());
+        } else {
+            log.debug("Read replica still unavailable: {}", e.getMessage());
+        }
+        replicaUsable = false;
+    }
+}
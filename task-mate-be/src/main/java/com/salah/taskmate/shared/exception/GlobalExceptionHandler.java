@@ -2,7 +2,9 @@ package com.salah.taskmate.shared.exception;
 
 import com.salah.taskmate.shared.api.ApiResponse;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -84,6 +86,62 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConstraintViolation(ConstraintViolationException ex) {
+        var errors = ex.getConstraintViolations()
+                .stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        violation -> violation.getMessage(),
+                        (first, second) -> first
+                ));
+
+        ApiResponse<Object> response = new ApiResponse<>(
+                false,
+                "Validation failed",
+                errors,
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ApiResponse<Void>> handlePreconditionFailed(RuntimeException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                false,
+                "Task was modified by another request",
+                null,
+                LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    @ExceptionHandler(SyncCursorExpiredException.class)
+    public ResponseEntity<ApiResponse<Void>> handleSyncCursorExpired(SyncCursorExpiredException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                false,
+                ex.getMessage(),
+                null,
+                LocalDateTime.now(),
+                HttpStatus.GONE.value()
+        );
+        return ResponseEntity.status(HttpStatus.GONE).body(response);
+    }
+
+    @ExceptionHandler(RecurrenceExpansionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRecurrenceExpansion(RecurrenceExpansionException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                false,
+                ex.getMessage(),
+                null,
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGeneralError(Exception ex) {
         ApiResponse<Void> response = new ApiResponse<>(
@@ -0,0 +1,7 @@
+package com.salah.taskmate.shared.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.salah.taskmate.shared.exception;
+
+public class RecurrenceExpansionException extends RuntimeException {
+    public RecurrenceExpansionException(String message) {
+        super(message);
+    }
+}
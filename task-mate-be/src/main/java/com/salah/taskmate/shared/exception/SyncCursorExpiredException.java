@@ -0,0 +1,7 @@
+package com.salah.taskmate.shared.exception;
+
+public class SyncCursorExpiredException extends RuntimeException {
+    public SyncCursorExpiredException(String message) {
+        super(message);
+    }
+}
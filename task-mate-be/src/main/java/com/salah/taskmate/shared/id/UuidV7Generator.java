@@ -0,0 +1,37 @@
+package com.salah.taskmate.shared.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp, a 12-bit counter and 62 random bits. Keys
+ * generated in sequence sort in creation order, so inserts append to the right edge of the primary key index
+ * instead of splitting pages all over it. The counter keeps ids from one process strictly increasing within a
+ * millisecond; past 4096 ids in one millisecond it carries into the timestamp, which runs slightly ahead of the
+ * clock until the clock catches up.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (unix millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSignificant = (timestampAndCounter >>> 12) << 16 | 0x7000L | (timestampAndCounter & 0xFFFL);
+        long leastSignificant = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+}
@@ -0,0 +1,118 @@
+package com.salah.taskmate.shared.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: level {@code l} has {@code wheelSize} buckets that are each {@code wheelSize^l}
+ * ticks wide, so scheduling and expiring an entry are O(1) regardless of how many are pending. Entries on a
+ * coarse level cascade down a level whenever the clock reaches their bucket; entries beyond the top level wait
+ * in an overflow list until the top level wraps. Not thread-safe.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] spans;
+    private final List<List<ArrayDeque<Entry<T>>>> levels = new ArrayList<>();
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick, at least two buckets and one level");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levelCount + 1];
+        this.spans[0] = 1;
+        for (int level = 0; level < levelCount; level++) {
+            spans[level + 1] = Math.multiplyExact(spans[level], wheelSize);
+            List<ArrayDeque<Entry<T>>> buckets = new ArrayList<>(wheelSize);
+            for (int bucket = 0; bucket < wheelSize; bucket++) {
+                buckets.add(new ArrayDeque<>());
+            }
+            levels.add(buckets);
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Returns false without scheduling when {@code dueMillis} falls on or before the current tick.
+     */
+    public boolean schedule(long dueMillis, T payload) {
+        return place(new Entry<>(Math.floorDiv(dueMillis, tickMillis), payload));
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis}, handing every entry that became due to {@code expired} in due order.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            if (currentTick % spans[levels.size()] == 0) {
+                List<Entry<T>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                size -= waiting.size();
+                waiting.forEach(entry -> reschedule(entry, expired));
+            }
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    cascade(levels.get(level).get(bucketIndex(currentTick, level)), expired);
+                }
+            }
+            ArrayDeque<Entry<T>> bucket = levels.get(0).get(bucketIndex(currentTick, 0));
+            size -= bucket.size();
+            bucket.forEach(entry -> expired.accept(entry.payload()));
+            bucket.clear();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean place(Entry<T> entry) {
+        if (entry.dueTick() <= currentTick) {
+            return false;
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            if (entry.dueTick() / spans[level + 1] == currentTick / spans[level + 1]) {
+                levels.get(level).get(bucketIndex(entry.dueTick(), level)).addLast(entry);
+                size++;
+                return true;
+            }
+        }
+        overflow.add(entry);
+        size++;
+        return true;
+    }
+
+    private void cascade(ArrayDeque<Entry<T>> bucket, Consumer<T> expired) {
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        size -= entries.size();
+        entries.forEach(entry -> reschedule(entry, expired));
+    }
+
+    private void reschedule(Entry<T> entry, Consumer<T> expired) {
+        if (!place(entry)) {
+            expired.accept(entry.payload());
+        }
+    }
+
+    private int bucketIndex(long tick, int level) {
+        return (int) ((tick / spans[level]) % wheelSize);
+    }
+
+    private record Entry<T>(long dueTick, T payload) {
+    }
+}
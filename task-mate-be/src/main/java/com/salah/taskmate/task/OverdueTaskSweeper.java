@@ -0,0 +1,45 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueTaskSweeper {
+
+    private final TaskRepository taskRepository;
+    private final TaskStatsTracker taskStatsTracker;
+
+    @Value("${task.overdue-sweeper.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(
+            initialDelayString = "${task.overdue-sweeper.initial-delay-ms:10000}",
+            fixedDelayString = "${task.overdue-sweeper.interval-ms:60000}"
+    )
+    public void markOverdueTasksAsMissed() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        long updated;
+
+        do {
+            updated = 0;
+            for (SweptTaskCount swept : taskRepository.markOverdueAsMissed(now, batchSize)) {
+                taskStatsTracker.recordStatusShift(swept.getUserId(), TaskStatus.PENDING, TaskStatus.MISSED, swept.getCount());
+                updated += swept.getCount();
+            }
+            total += updated;
+        } while (updated == batchSize);
+
+        if (total > 0) {
+            log.info("Marked {} overdue task(s) as MISSED", total);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.shared.exception.RecurrenceExpansionException;
+import com.salah.taskmate.task.enums.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Subset of an RFC 5545 RRULE: FREQ, INTERVAL, BYDAY (daily and weekly rules only), COUNT and UNTIL.
+ * A series is anchored at its task's due date, which is always the first occurrence.
+ */
+public record RecurrenceRule(
+        RecurrenceFrequency frequency,
+        int interval,
+        Set<DayOfWeek> byDay,
+        Integer count,
+        LocalDateTime until) {
+
+    private static final int MAX_INTERVAL = 999;
+    private static final int MAX_COUNT = 1000;
+    // the sparsest accepted rules (one BYDAY day, or Feb 29 yearly) need about 7 periods per occurrence, so
+    // COUNT=1000 stays well under this; windows are at most a calendar range, a few hundred periods
+    private static final int MAX_PERIODS = 20_000;
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Map<String, DayOfWeek> DAY_CODES = Map.of(
+            "MO", DayOfWeek.MONDAY,
+            "TU", DayOfWeek.TUESDAY,
+            "WE", DayOfWeek.WEDNESDAY,
+            "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY,
+            "SA", DayOfWeek.SATURDAY,
+            "SU", DayOfWeek.SUNDAY);
+
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule must not be blank");
+        }
+        String body = rule.trim().toUpperCase();
+        if (body.startsWith("RRULE:")) {
+            body = body.substring("RRULE:".length());
+        }
+
+        Map<String, String> parts = new LinkedHashMap<>();
+        for (String part : body.split(";")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            int separator = part.indexOf('=');
+            if (separator <= 0 || parts.put(part.substring(0, separator), part.substring(separator + 1)) != null) {
+                throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+            }
+        }
+
+        RecurrenceFrequency frequency = parseFrequency(parts.remove("FREQ"));
+        int interval = parts.containsKey("INTERVAL") ? parseBounded("INTERVAL", parts.remove("INTERVAL"), MAX_INTERVAL) : 1;
+        Set<DayOfWeek> byDay = parts.containsKey("BYDAY") ? parseDays(parts.remove("BYDAY")) : Set.of();
+        Integer count = parts.containsKey("COUNT") ? parseBounded("COUNT", parts.remove("COUNT"), MAX_COUNT) : null;
+        LocalDateTime until = parts.containsKey("UNTIL") ? parseUntil(parts.remove("UNTIL")) : null;
+
+        if (!parts.isEmpty()) {
+            throw new IllegalArgumentException("Unsupported recurrence rule part(s): " + parts.keySet());
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("Recurrence rule cannot combine COUNT and UNTIL");
+        }
+        if (!byDay.isEmpty() && frequency != RecurrenceFrequency.DAILY && frequency != RecurrenceFrequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for DAILY and WEEKLY recurrence");
+        }
+        // every period would fall on the first occurrence's weekday, so BYDAY either never filters or never matches
+        if (!byDay.isEmpty() && frequency == RecurrenceFrequency.DAILY && interval % 7 == 0) {
+            throw new IllegalArgumentException("BYDAY cannot be combined with a DAILY interval that is a multiple of 7; "
+                    + "use FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /**
+     * Canonical RRULE text, so equal rules are stored identically.
+     */
+    public String format() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                    .sorted()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_FORMAT.format(until));
+        }
+        return rule.toString();
+    }
+
+    /**
+     * Occurrences of a series starting at {@code start} that fall in {@code [from, to)}, in order. Scans at most
+     * {@code MAX_PERIODS} periods and throws {@link RecurrenceExpansionException} past that.
+     */
+    public List<LocalDateTime> occurrencesBetween(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        LocalDateTime anchor = frequency == RecurrenceFrequency.WEEKLY
+                ? start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : start;
+        // COUNT is relative to the first occurrence, so only open-ended rules can skip ahead to the window
+        long period = count != null || !from.isAfter(anchor)
+                ? 0
+                : Math.max(0, frequency.getUnit().between(anchor, from) / interval - 1);
+        int seen = 0;
+
+        for (int scanned = 0; ; scanned++) {
+            if (scanned == MAX_PERIODS) {
+                throw new RecurrenceExpansionException("Recurrence rule " + format() + " needs more than "
+                        + MAX_PERIODS + " periods to expand");
+            }
+            LocalDateTime periodStart = anchor.plus(period * interval, frequency.getUnit());
+            if (!periodStart.isBefore(to) || (until != null && periodStart.isAfter(until))) {
+                return occurrences;
+            }
+            for (LocalDateTime candidate : candidatesIn(periodStart, start)) {
+                if (candidate.isBefore(start)) {
+                    continue;
+                }
+                if (!candidate.isBefore(to)
+                        || (until != null && candidate.isAfter(until))
+                        || (count != null && seen >= count)) {
+                    return occurrences;
+                }
+                seen++;
+                if (!candidate.isBefore(from)) {
+                    occurrences.add(candidate);
+                }
+            }
+            period++;
+        }
+    }
+
+    public boolean occursAt(LocalDateTime start, LocalDateTime when) {
+        return occurrencesBetween(start, when, when.plusNanos(1)).contains(when);
+    }
+
+    /**
+     * Latest moment the series can still produce an occurrence, or null when it never ends.
+     */
+    public LocalDateTime lastOccurrence(LocalDateTime start) {
+        if (until != null) {
+            return until;
+        }
+        if (count == null) {
+            return null;
+        }
+        List<LocalDateTime> occurrences = occurrencesBetween(start, start, LocalDateTime.MAX);
+        return occurrences.isEmpty() ? start : occurrences.get(occurrences.size() - 1);
+    }
+
+    private List<LocalDateTime> candidatesIn(LocalDateTime periodStart, LocalDateTime start) {
+        return switch (frequency) {
+            case DAILY -> byDay.isEmpty() || byDay.contains(periodStart.getDayOfWeek())
+                    ? List.of(periodStart)
+                    : List.of();
+            case WEEKLY -> byDay.isEmpty()
+                    ? List.of(periodStart.with(TemporalAdjusters.nextOrSame(start.getDayOfWeek())))
+                    : byDay.stream().sorted().map(day -> periodStart.plusDays(day.ordinal())).toList();
+            // plusMonths/plusYears clamp to the month end; RFC 5545 skips those periods instead
+            case MONTHLY, YEARLY -> periodStart.getDayOfMonth() == start.getDayOfMonth()
+                    ? List.of(periodStart)
+                    : List.of();
+        };
+    }
+
+    private static RecurrenceFrequency parseFrequency(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Recurrence rule requires FREQ");
+        }
+        try {
+            return RecurrenceFrequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported recurrence frequency: " + value);
+        }
+    }
+
+    private static int parseBounded(String name, String value, int max) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 1 && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be between 1 and " + max);
+    }
+
+    private static Set<DayOfWeek> parseDays(String value) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String code : value.split(",")) {
+            DayOfWeek day = DAY_CODES.get(code);
+            if (day == null) {
+                throw new IllegalArgumentException("Invalid BYDAY value: " + code);
+            }
+            days.add(day);
+        }
+        return Collections.unmodifiableSet(days);
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        try {
+            return value.length() == 8
+                    ? LocalDate.parse(value, UNTIL_DATE_FORMAT).atTime(LocalTime.MAX)
+                    : LocalDateTime.parse(value, UNTIL_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL must be a local date (yyyyMMdd) or date-time (yyyyMMddTHHmmss)");
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.salah.taskmate.task;
 
 import com.salah.taskmate.category.Category;
+import com.salah.taskmate.shared.id.UuidV7Generator;
 import com.salah.taskmate.task.enums.TaskPriority;
 import com.salah.taskmate.task.enums.TaskStatus;
 import com.salah.taskmate.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -13,14 +19,24 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_series_occurrence", columnNames = {"series_id", "occurrence_date"})
+})
+// archived tasks live in their own partition and are invisible unless a read lifts the filter
+@FilterDef(name = Task.HOT_FILTER, defaultCondition = "archived = false", autoEnabled = true, applyToLoadByKey = true)
+@Filter(name = Task.HOT_FILTER)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 public class Task {
+    public static final String HOT_FILTER = "hotTasks";
+
     @Id
     @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(columnDefinition = "uuid",  nullable = false, updatable = false)
     private UUID id;
 
@@ -44,14 +60,44 @@ public class Task {
     @Column(name = "created_at", nullable = false,  updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // id of the last transaction that wrote the row, stamped by a trigger; orders the delta sync feed
+    @Column(name = "change_xid", nullable = false, insertable = false, updatable = false)
+    private Long changeXid;
+
     @Column(nullable = false)
     private boolean isFavorite = false;
 
-    @ManyToOne
+    // a task with a rule is a series whose due date is its first occurrence
+    @Column(name = "recurrence_rule")
+    private String recurrenceRule;
+
+    @Column(name = "recurrence_until")
+    private LocalDateTime recurrenceUntil;
+
+    // set on occurrences materialized from a series, which keep their original slot even if rescheduled
+    @Column(name = "series_id", columnDefinition = "uuid", updatable = false)
+    private UUID seriesId;
+
+    @Column(name = "occurrence_date", updatable = false)
+    private LocalDateTime occurrenceDate;
+
+    // only ever set by the archiver, which moves the row to the archive partition
+    @Column(nullable = false, insertable = false, updatable = false)
+    private boolean archived;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
             name = "task_category",
             joinColumns = @JoinColumn(name = "task_id"),
@@ -65,11 +111,29 @@ public class Task {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
         if (status == null) {
             status = TaskStatus.PENDING;
         }
         if (priority == null) {
             priority = TaskPriority.MEDIUM;
         }
+        deriveRecurrenceUntil();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+        deriveRecurrenceUntil();
+    }
+
+    public boolean isRecurring() {
+        return recurrenceRule != null;
+    }
+
+    private void deriveRecurrenceUntil() {
+        recurrenceUntil = recurrenceRule != null ? RecurrenceRule.parse(recurrenceRule).lastOccurrence(dueDate) : null;
     }
 }
@@ -0,0 +1,35 @@
+package com.salah.taskmate.task;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Task queries see only the hot partition through the auto-enabled {@link Task#HOT_FILTER}; reads that opt in
+ * to archived tasks lift it for the current session while they run.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskArchiveFilter {
+
+    private final EntityManager entityManager;
+
+    public <T> T read(boolean includeArchived, Supplier<T> query) {
+        if (!includeArchived) {
+            return query.get();
+        }
+        Session session = entityManager.unwrap(Session.class);
+        if (session.getEnabledFilter(Task.HOT_FILTER) == null) {
+            return query.get();
+        }
+        session.disableFilter(Task.HOT_FILTER);
+        try {
+            return query.get();
+        } finally {
+            session.enableFilter(Task.HOT_FILTER);
+        }
+    }
+}
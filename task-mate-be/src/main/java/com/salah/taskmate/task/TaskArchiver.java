@@ -0,0 +1,66 @@
+package com.salah.taskmate.task;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves one-off tasks that were finished (DONE or MISSED) more than {@code task.archive.after} ago into the
+ * archive partition, so the hot partition and its indexes only hold live work. Recurring series are never
+ * archived since their occurrences are still being generated. Each archived task gets a tombstone in the same
+ * statement, so delta sync clients drop it like a deleted one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskArchiver {
+
+    private final TaskRepository taskRepository;
+    private final TaskStatsTracker taskStatsTracker;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${task.archive.after:P90D}")
+    private Duration archiveAfter;
+
+    @Value("${task.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(
+            initialDelayString = "${task.archive.initial-delay-ms:120000}",
+            fixedDelayString = "${task.archive.interval-ms:3600000}"
+    )
+    public void archiveFinishedTasks() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(archiveAfter);
+        Set<UUID> affectedUsers = new HashSet<>();
+        long total = 0;
+        long archived;
+
+        do {
+            archived = 0;
+            for (SweptTaskCount moved : taskRepository.archiveFinishedBefore(cutoff, now, batchSize)) {
+                affectedUsers.add(moved.getUserId());
+                archived += moved.getCount();
+            }
+            total += archived;
+        } while (archived == batchSize);
+
+        // counters and open clients only track the hot set
+        for (UUID userId : affectedUsers) {
+            taskStatsTracker.invalidate(userId);
+            eventPublisher.publishEvent(TaskChangeEvent.resync(userId));
+        }
+        if (total > 0) {
+            log.info("Archived {} task(s) finished before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.dto.BulkTaskUpdateRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskBulkRepository {
+
+    List<UUID> findIdsMatching(UUID userId, BulkTaskUpdateRequest selection, int limit);
+
+    int updateMatching(UUID userId, BulkTaskUpdateRequest selection, String attribute, Object value);
+}
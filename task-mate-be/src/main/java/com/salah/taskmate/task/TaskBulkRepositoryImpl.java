@@ -0,0 +1,83 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.category.Category;
+import com.salah.taskmate.task.dto.BulkTaskUpdateRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class TaskBulkRepositoryImpl implements TaskBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> findIdsMatching(UUID userId, BulkTaskUpdateRequest selection, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<Task> task = query.from(Task.class);
+
+        query.select(task.get("id"))
+                .where(buildPredicates(cb, query, task, userId, selection));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int updateMatching(UUID userId, BulkTaskUpdateRequest selection, String attribute, Object value) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        update.set(attribute, value)
+                .set("updatedAt", LocalDateTime.now())
+                .set(task.<Long>get("version"), cb.sum(task.get("version"), 1L))
+                .where(buildPredicates(cb, update, task, userId, selection));
+
+        entityManager.flush();
+        int affected = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return affected;
+    }
+
+    private Predicate[] buildPredicates(
+            CriteriaBuilder cb,
+            CommonAbstractCriteria criteria,
+            Root<Task> task,
+            UUID userId,
+            BulkTaskUpdateRequest selection) {
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get("user").get("id"), userId));
+        // the hot-task filter does not apply to update statements
+        predicates.add(cb.isFalse(task.get("archived")));
+
+        if (selection.getTaskIds() != null && !selection.getTaskIds().isEmpty()) {
+            predicates.add(task.get("id").in(selection.getTaskIds()));
+        }
+        if (selection.getStatus() != null) {
+            predicates.add(cb.equal(task.get("status"), selection.getStatus()));
+        }
+        if (selection.getDueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), selection.getDueFrom()));
+        }
+        if (selection.getDueTo() != null) {
+            predicates.add(cb.lessThan(task.get("dueDate"), selection.getDueTo()));
+        }
+        if (selection.getCategoryId() != null) {
+            Subquery<UUID> categorized = criteria.subquery(UUID.class);
+            Root<Task> categorizedTask = categorized.from(Task.class);
+            Join<Task, Category> category = categorizedTask.join("categories");
+            categorized.select(categorizedTask.get("id"))
+                    .where(cb.equal(category.get("id"), selection.getCategoryId()));
+            predicates.add(task.get("id").in(categorized));
+        }
+
+        return predicates.toArray(Predicate[]::new);
+    }
+}
@@ -0,0 +1,6 @@
+package com.salah.taskmate.task;
+
+import java.util.UUID;
+
+public record TaskCategoryCount(UUID categoryId, long count) {
+}
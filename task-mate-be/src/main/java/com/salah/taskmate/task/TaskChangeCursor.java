@@ -0,0 +1,66 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.shared.exception.SyncCursorExpiredException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for the delta sync feed ordered by (changeXid, id), covering both modified tasks and
+ * tombstones. {@code issuedAt} only decides whether the cursor has outlived tombstone retention.
+ */
+public record TaskChangeCursor(long changeXid, UUID id, LocalDateTime issuedAt) implements Comparable<TaskChangeCursor> {
+
+    public static final TaskChangeCursor START = new TaskChangeCursor(0, new UUID(0, 0), LocalDateTime.MIN);
+
+    private static final String VERSION = "2";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position after every change written by transactions up to and including {@code changeXid}.
+     */
+    public static TaskChangeCursor endOf(long changeXid, LocalDateTime issuedAt) {
+        return new TaskChangeCursor(changeXid, new UUID(-1, -1), issuedAt);
+    }
+
+    /**
+     * Orders like PostgreSQL does: uuids compare as unsigned bytes, unlike {@link UUID#compareTo}.
+     */
+    @Override
+    public int compareTo(TaskChangeCursor other) {
+        int byXid = Long.compare(changeXid, other.changeXid);
+        if (byXid != 0) {
+            return byXid;
+        }
+        int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, Long.toString(changeXid), id.toString(), issuedAt.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskChangeCursor decode(String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        // cursors keyed by updated_at cannot be mapped onto transaction ids
+        if (parts.length == 2) {
+            throw new SyncCursorExpiredException("Sync cursor predates the current sync format, a full resync is required");
+        }
+        try {
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            return new TaskChangeCursor(Long.parseLong(parts[1]), UUID.fromString(parts[2]), LocalDateTime.parse(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.dto.TaskResponse;
+import com.salah.taskmate.task.enums.TaskChangeType;
+
+import java.util.UUID;
+
+public record TaskChangeEvent(UUID userId, TaskChangeType type, UUID taskId, TaskResponse task) {
+
+    public static TaskChangeEvent created(UUID userId, TaskResponse task) {
+        return new TaskChangeEvent(userId, TaskChangeType.CREATED, task.getId(), task);
+    }
+
+    public static TaskChangeEvent updated(UUID userId, TaskResponse task) {
+        return new TaskChangeEvent(userId, TaskChangeType.UPDATED, task.getId(), task);
+    }
+
+    public static TaskChangeEvent deleted(UUID userId, UUID taskId) {
+        return new TaskChangeEvent(userId, TaskChangeType.DELETED, taskId, null);
+    }
+
+    public static TaskChangeEvent reminder(UUID userId, UUID taskId) {
+        return new TaskChangeEvent(userId, TaskChangeType.REMINDER, taskId, null);
+    }
+
+    public static TaskChangeEvent resync(UUID userId) {
+        return new TaskChangeEvent(userId, TaskChangeType.RESYNC, null, null);
+    }
+}
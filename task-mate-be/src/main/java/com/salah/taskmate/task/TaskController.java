@@ -1,21 +1,43 @@
 package com.salah.taskmate.task;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.salah.taskmate.security.CustomUserDetails;
 import com.salah.taskmate.shared.annotation.StandardApiResponse;
+import com.salah.taskmate.shared.api.CursorPage;
+import com.salah.taskmate.task.enums.TaskField;
+import com.salah.taskmate.task.enums.TaskFileFormat;
 import com.salah.taskmate.task.enums.TaskPriority;
 import com.salah.taskmate.task.enums.TaskStatus;
+import com.salah.taskmate.task.dto.BatchTaskResult;
+import com.salah.taskmate.task.dto.BulkTaskUpdateRequest;
+import com.salah.taskmate.task.dto.BulkTaskUpdateResponse;
+import com.salah.taskmate.task.dto.CalendarDayResponse;
+import com.salah.taskmate.task.dto.TaskChangesResponse;
+import com.salah.taskmate.task.dto.TaskImportResponse;
 import com.salah.taskmate.task.dto.TaskRequest;
 import com.salah.taskmate.task.dto.TaskResponse;
+import com.salah.taskmate.task.dto.TaskSearchResult;
+import com.salah.taskmate.task.dto.TaskStatsResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,6 +47,7 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskEventStream taskEventStream;
 
     @PostMapping
     @StandardApiResponse(message = "Task created successfully")
@@ -36,25 +59,91 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @StandardApiResponse(message = "Task batch processed successfully")
+    public ResponseEntity<List<BatchTaskResult>> createTasks(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestBody List<TaskRequest> taskRequests) {
+
+        List<BatchTaskResult> results = taskService.createTasks(userDetails.getId(), taskRequests);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping
     @StandardApiResponse(message = "Tasks retrieved successfully")
-    public ResponseEntity<Page<TaskResponse>> getAllTasks(
+    public ResponseEntity<Page<?>> getAllTasks(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(defaultValue = "dueDate") String sort,
+            WebRequest webRequest) {
+
+        TaskListQuery listQuery = TaskListQuery.of(status, priority, favorite, categoryId, dueFrom, dueTo, sort);
+        String eTag = taskService.getAllTasksETag(userDetails.getId(), includeArchived);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
+
+        Page<?> tasks = fields == null
+                ? taskService.getAllTasks(userDetails.getId(), listQuery, page, size, includeArchived)
+                : taskService.getAllTasks(userDetails.getId(), listQuery, page, size, TaskField.parse(fields), includeArchived);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(tasks);
+    }
+
+    @GetMapping("/scroll")
+    @StandardApiResponse(message = "Tasks retrieved successfully")
+    public ResponseEntity<CursorPage<?>> getTasksByCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
 
-        Page<TaskResponse> tasks = taskService.getAllTasks(userDetails.getId(), page, size);
+        CursorPage<?> tasks = fields == null
+                ? taskService.getTasksByCursor(userDetails.getId(), cursor, size, includeArchived)
+                : taskService.getTasksByCursor(userDetails.getId(), cursor, size, TaskField.parse(fields), includeArchived);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/search")
+    @StandardApiResponse(message = "Tasks searched successfully")
+    public ResponseEntity<CursorPage<TaskSearchResult>> searchTasks(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+
+        CursorPage<TaskSearchResult> results = taskService.searchTasks(userDetails.getId(), q, cursor, size, includeArchived);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/{taskId}")
     @StandardApiResponse(message = "Task retrieved successfully")
-    public ResponseEntity<TaskResponse> getTaskById(
+    public ResponseEntity<Object> getTaskById(
             @AuthenticationPrincipal CustomUserDetails userDetails,
-            @PathVariable UUID taskId) {
+            @PathVariable UUID taskId,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
 
-        TaskResponse task = taskService.getTaskById(taskId, userDetails.getId());
-        return ResponseEntity.ok(task);
+        String eTag = taskService.getTaskETag(taskId, userDetails.getId(), includeArchived);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
+
+        Object task = fields == null
+                ? taskService.getTaskById(taskId, userDetails.getId(), includeArchived)
+                : taskService.getTaskById(taskId, userDetails.getId(), TaskField.parse(fields), includeArchived);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(task);
     }
 
     @PutMapping("/{taskId}")
@@ -62,10 +151,37 @@ public class TaskController {
     public ResponseEntity<TaskResponse> updateTask(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @PathVariable UUID taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskRequest taskRequest) {
 
-        TaskResponse response = taskService.updateTask(taskId, userDetails.getId(), taskRequest);
-        return ResponseEntity.ok(response);
+        TaskResponse response = taskService.updateTask(taskId, userDetails.getId(), taskRequest, ifMatch);
+        return ResponseEntity.ok().eTag(taskService.getLatestTaskETag(taskId, userDetails.getId())).body(response);
+    }
+
+    @PatchMapping(value = "/{taskId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @StandardApiResponse(message = "Task updated successfully")
+    public ResponseEntity<TaskResponse> patchTask(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable UUID taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode mergePatch) {
+
+        TaskResponse response = taskService.patchTask(taskId, userDetails.getId(), mergePatch, ifMatch);
+        return ResponseEntity.ok().eTag(taskService.getLatestTaskETag(taskId, userDetails.getId())).body(response);
+    }
+
+    @PatchMapping(
+            value = "/{taskId}/occurrences/{occurrenceDate}",
+            consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @StandardApiResponse(message = "Task occurrence updated successfully")
+    public ResponseEntity<TaskResponse> patchOccurrence(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable UUID taskId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceDate,
+            @RequestBody JsonNode mergePatch) {
+
+        TaskResponse response = taskService.patchOccurrence(taskId, userDetails.getId(), occurrenceDate, mergePatch);
+        return ResponseEntity.ok().eTag(taskService.getLatestTaskETag(response.getId(), userDetails.getId())).body(response);
     }
 
     @DeleteMapping("/{taskId}")
@@ -110,6 +226,39 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/bulk/status")
+    @StandardApiResponse(message = "Task statuses updated successfully")
+    public ResponseEntity<BulkTaskUpdateResponse> bulkChangeStatus(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam TaskStatus status,
+            @Valid @RequestBody BulkTaskUpdateRequest request) {
+
+        BulkTaskUpdateResponse response = taskService.bulkChangeStatus(userDetails.getId(), request, status);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/bulk/priority")
+    @StandardApiResponse(message = "Task priorities updated successfully")
+    public ResponseEntity<BulkTaskUpdateResponse> bulkChangePriority(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam TaskPriority priority,
+            @Valid @RequestBody BulkTaskUpdateRequest request) {
+
+        BulkTaskUpdateResponse response = taskService.bulkChangePriority(userDetails.getId(), request, priority);
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/bulk/favorite")
+    @StandardApiResponse(message = "Task favoritism updated successfully")
+    public ResponseEntity<BulkTaskUpdateResponse> bulkSetFavorite(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam boolean favorite,
+            @Valid @RequestBody BulkTaskUpdateRequest request) {
+
+        BulkTaskUpdateResponse response = taskService.bulkSetFavorite(userDetails.getId(), request, favorite);
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{taskId}/categories")
     @StandardApiResponse(message = "Categories added to task successfully")
     public ResponseEntity<TaskResponse> addCategories(
@@ -123,11 +272,96 @@ public class TaskController {
 
     @GetMapping("/date")
     @StandardApiResponse(message = "Task retrieved by date successfully")
-    public ResponseEntity<List<TaskResponse>> getTasksByDate(
+    public ResponseEntity<List<?>> getTasksByDate(
             @AuthenticationPrincipal CustomUserDetails userDetails,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) List<String> fields,
+            WebRequest webRequest
     ){
-        List<TaskResponse> tasks = taskService.getTasksByDate(userDetails.getId(), date);
-        return ResponseEntity.ok(tasks);
+        String eTag = taskService.getTasksByDateETag(userDetails.getId(), date);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
+
+        List<?> tasks = fields == null
+                ? taskService.getTasksByDate(userDetails.getId(), date)
+                : taskService.getTasksByDate(userDetails.getId(), date, TaskField.parse(fields));
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(tasks);
+    }
+
+    @GetMapping("/calendar")
+    @StandardApiResponse(message = "Calendar retrieved successfully")
+    public ResponseEntity<List<CalendarDayResponse>> getCalendar(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeTasks
+    ){
+        List<CalendarDayResponse> days = taskService.getCalendar(userDetails.getId(), from, to, includeTasks);
+        return ResponseEntity.ok(days);
+    }
+
+    @GetMapping("/stats")
+    @StandardApiResponse(message = "Task statistics retrieved successfully")
+    public ResponseEntity<TaskStatsResponse> getStats(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        TaskStatsResponse stats = taskService.getStats(userDetails.getId());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/changes")
+    @StandardApiResponse(message = "Task changes retrieved successfully")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int size
+    ) {
+        TaskChangesResponse changes = taskService.getChanges(userDetails.getId(), since, size);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "NDJSON") TaskFileFormat format,
+            @RequestParam(defaultValue = "true") boolean includeArchived
+    ){
+        UUID userId = userDetails.getId();
+        boolean csv = format == TaskFileFormat.CSV;
+
+        StreamingResponseBody body = outputStream -> taskService.exportTasks(userId, format, includeArchived, outputStream);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "tasks.csv" : "tasks.ndjson")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    @StandardApiResponse(message = "Task import processed successfully")
+    public ResponseEntity<TaskImportResponse> importTasks(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "NDJSON") TaskFileFormat format,
+            InputStream body
+    ) throws IOException {
+        TaskImportResponse response = taskService.importTasks(userDetails.getId(), format, body);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        SseEmitter emitter = taskEventStream.subscribe(userDetails.getId(), lastEventId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
     }
 }
@@ -0,0 +1,36 @@
+package com.salah.taskmate.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for task listings ordered by (dueDate, id).
+ */
+public record TaskCursor(LocalDateTime dueDate, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getDueDate(), task.getId());
+    }
+
+    public String encode() {
+        String raw = dueDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new TaskCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
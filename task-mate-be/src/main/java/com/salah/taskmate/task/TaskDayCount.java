@@ -0,0 +1,9 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public record TaskDayCount(LocalDate day, TaskStatus status, TaskPriority priority, long count) {
+}
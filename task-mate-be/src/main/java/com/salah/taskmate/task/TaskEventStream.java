@@ -0,0 +1,236 @@
+package com.salah.taskmate.task;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salah.taskmate.task.dto.TaskChangeResponse;
+import com.salah.taskmate.task.enums.TaskChangeType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed task changes out to each user's open SSE connections.
+ * Every connection drains its own bounded queue on a virtual thread, so a slow client never blocks the writer;
+ * when the queue overflows it is replaced by a single resync event. Recent events are kept per user so a
+ * reconnecting client can resume from its Last-Event-ID; the history only expires once the user has no open
+ * connection for {@code task.events.replay-retention}.
+ */
+@Component
+@Slf4j
+public class TaskEventStream {
+
+    private final Duration timeout;
+    private final int bufferSize;
+    private final int replaySize;
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<UUID, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final Cache<UUID, UserHistory> history;
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TaskEventStream(
+            @Value("${task.events.timeout:PT30M}") Duration timeout,
+            @Value("${task.events.buffer-size:256}") int bufferSize,
+            @Value("${task.events.replay-size:256}") int replaySize,
+            @Value("${task.events.replay-retention:PT15M}") Duration replayRetention) {
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.history = Caffeine.newBuilder()
+                .expireAfterAccess(replayRetention)
+                .build();
+    }
+
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connection.close());
+
+        UserHistory userHistory = history.get(userId, id -> new UserHistory(sequence.get()));
+        synchronized (userHistory) {
+            connections.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(connection);
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(connection, userHistory, lastEventId.trim());
+            }
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        // a quiet user's history may have expired while the connection stayed open, so it is recreated for them
+        UserHistory userHistory = connections.containsKey(event.userId())
+                ? history.get(event.userId(), id -> new UserHistory(sequence.get()))
+                : history.getIfPresent(event.userId());
+        if (userHistory == null) {
+            return;
+        }
+        synchronized (userHistory) {
+            StreamEvent streamEvent = new StreamEvent(sequence.incrementAndGet(), TaskChangeResponse.builder()
+                    .type(event.type())
+                    .taskId(event.taskId())
+                    .task(event.task())
+                    .build());
+            userHistory.events.addLast(streamEvent);
+            if (userHistory.events.size() > replaySize) {
+                userHistory.since = userHistory.events.removeFirst().sequence();
+            }
+            for (Connection connection : connections.getOrDefault(event.userId(), List.of())) {
+                connection.enqueue(streamEvent);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        connections.forEach((userId, userConnections) -> {
+            // keeps the replay history of connected users from expiring between their changes
+            history.getIfPresent(userId);
+            userConnections.forEach(Connection::enqueueHeartbeat);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> connection.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private void replay(Connection connection, UserHistory userHistory, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        if (lastSequence < userHistory.since || lastSequence > sequence.get()) {
+            connection.enqueue(resyncEvent());
+            return;
+        }
+        userHistory.events.stream()
+                .filter(event -> event.sequence() > lastSequence)
+                .forEach(connection::enqueue);
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(streamId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private StreamEvent resyncEvent() {
+        return new StreamEvent(sequence.get(), TaskChangeResponse.builder().type(TaskChangeType.RESYNC).build());
+    }
+
+    private SseEmitter.SseEventBuilder toSse(StreamEvent event) {
+        return SseEmitter.event()
+                .id(streamId + "-" + event.sequence())
+                .name(event.data().getType().name().toLowerCase())
+                .data(event.data(), MediaType.APPLICATION_JSON);
+    }
+
+    private record StreamEvent(long sequence, TaskChangeResponse data) {
+    }
+
+    /**
+     * Events retained for one user; every event after {@code since} is still in the deque.
+     */
+    private static final class UserHistory {
+
+        private final ArrayDeque<StreamEvent> events = new ArrayDeque<>();
+        private long since;
+
+        private UserHistory(long since) {
+            this.since = since;
+        }
+    }
+
+    private final class Connection {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Connection(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void enqueue(StreamEvent event) {
+            offer(toSse(event));
+        }
+
+        private void enqueueHeartbeat() {
+            offer(SseEmitter.event().comment("heartbeat"));
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.debug("Task event buffer overflowed for user {}, asking client to resync", userId);
+                queue.clear();
+                queue.offer(toSse(resyncEvent()));
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            connections.computeIfPresent(userId, (id, userConnections) -> {
+                userConnections.remove(this);
+                return userConnections.isEmpty() ? null : userConnections;
+            });
+        }
+    }
+}
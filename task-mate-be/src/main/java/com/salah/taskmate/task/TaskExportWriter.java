@@ -0,0 +1,55 @@
+package com.salah.taskmate.task;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.salah.taskmate.task.dto.TaskExportRow;
+import com.salah.taskmate.task.enums.TaskFileFormat;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Component
+public class TaskExportWriter {
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final CsvSchema csvSchema;
+
+    public TaskExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+                .build();
+        this.csvSchema = csvMapper.schemaFor(TaskExportRow.class)
+                .withHeader()
+                .withArrayElementSeparator(";");
+    }
+
+    public JsonGenerator open(TaskFileFormat format, OutputStream outputStream) throws IOException {
+        JsonGenerator generator;
+        if (format == TaskFileFormat.CSV) {
+            generator = csvMapper.getFactory().createGenerator(outputStream);
+            generator.setSchema(csvSchema);
+        } else {
+            generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+        return generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public void write(TaskFileFormat format, JsonGenerator generator, TaskExportRow row) throws IOException {
+        generator.writeObject(row);
+        if (format == TaskFileFormat.NDJSON) {
+            generator.writeRaw('\n');
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+
+public record TaskGroupCount(TaskStatus status, TaskPriority priority, boolean favorite, long count) {
+}
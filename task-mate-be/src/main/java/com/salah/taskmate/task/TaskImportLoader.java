@@ -0,0 +1,173 @@
+package com.salah.taskmate.task;
+
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.salah.taskmate.shared.id.UuidV7Generator;
+import com.salah.taskmate.task.dto.TaskRequest;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Loads imported tasks with COPY into a transaction-scoped staging table, one COPY per batch the source hands over,
+ * then moves them into {@code task} and {@code task_category} with two set-based inserts.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskImportLoader {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE task_import_staging (
+                id uuid NOT NULL,
+                title varchar(100) NOT NULL,
+                content varchar(1000),
+                due_date timestamp(6) NOT NULL,
+                status varchar(255) NOT NULL,
+                priority varchar(255) NOT NULL,
+                is_favorite boolean NOT NULL,
+                category_ids uuid[],
+                recurrence_rule varchar(255),
+                recurrence_until timestamp(6)
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_INTO_STAGING = "COPY task_import_staging FROM STDIN (FORMAT csv)";
+
+    private static final String INSERT_TASKS = """
+            INSERT INTO task (id, title, content, due_date, status, priority, created_at, updated_at, is_favorite,
+                              recurrence_rule, recurrence_until, user_id)
+            SELECT id, title, content, due_date, status, priority, ?, ?, is_favorite,
+                   recurrence_rule, recurrence_until, ?
+            FROM task_import_staging
+            """;
+
+    private static final String INSERT_TASK_CATEGORIES = """
+            INSERT INTO task_category (task_id, category_id)
+            SELECT DISTINCT s.id, c.category_id
+            FROM task_import_staging s
+            CROSS JOIN LATERAL unnest(s.category_ids) AS c(category_id)
+            """;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)
+            .build();
+
+    private static final CsvSchema STAGING_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("title")
+            .addColumn("content")
+            .addColumn("dueDate")
+            .addColumn("status")
+            .addColumn("priority")
+            .addColumn("isFavorite")
+            .addColumn("categoryIds")
+            .addColumn("recurrenceRule")
+            .addColumn("recurrenceUntil")
+            .build()
+            .withoutHeader();
+
+    private final EntityManager entityManager;
+
+    @FunctionalInterface
+    public interface StagingSink {
+        void addAll(List<TaskRequest> taskRequests) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface StagingSource {
+        void writeTo(StagingSink sink) throws IOException;
+    }
+
+    public int load(UUID userId, LocalDateTime createdAt, StagingSource source) {
+        entityManager.flush();
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try {
+                source.writeTo(taskRequests -> copyIntoStaging(pgConnection, taskRequests));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            int inserted;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TASKS)) {
+                statement.setTimestamp(1, Timestamp.valueOf(createdAt));
+                // stamped after COPY rather than at request start so delta sync cursors do not skip long imports
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setObject(3, userId);
+                inserted = statement.executeUpdate();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(INSERT_TASK_CATEGORIES);
+            }
+            return inserted;
+        });
+    }
+
+    // one COPY per batch: the connection is locked while a COPY is open, so the source can only query between batches
+    private void copyIntoStaging(PGConnection connection, List<TaskRequest> taskRequests) throws IOException {
+        if (taskRequests.isEmpty()) {
+            return;
+        }
+        PGCopyOutputStream copy;
+        try {
+            copy = new PGCopyOutputStream(connection, COPY_INTO_STAGING, COPY_BUFFER_SIZE);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        try (SequenceWriter writer = CSV_MAPPER.writer(STAGING_SCHEMA).writeValues(copy)) {
+            for (TaskRequest taskRequest : taskRequests) {
+                writer.write(toStagingRow(taskRequest));
+            }
+        }
+    }
+
+    private Object[] toStagingRow(TaskRequest taskRequest) {
+        List<UUID> categoryIds = taskRequest.getCategoryIds();
+        // COPY reads an unquoted empty field as NULL
+        String categoryArray = categoryIds == null || categoryIds.isEmpty()
+                ? ""
+                : categoryIds.stream().map(UUID::toString).collect(Collectors.joining(",", "{", "}"));
+        LocalDateTime recurrenceUntil = taskRequest.getRecurrenceRule() != null
+                ? RecurrenceRule.parse(taskRequest.getRecurrenceRule()).lastOccurrence(taskRequest.getDueDate())
+                : null;
+
+        return new Object[]{
+                UuidV7Generator.next().toString(),
+                taskRequest.getTitle(),
+                Objects.toString(taskRequest.getContent(), ""),
+                taskRequest.getDueDate().toString(),
+                Objects.requireNonNullElse(taskRequest.getStatus(), TaskStatus.PENDING).name(),
+                Objects.requireNonNullElse(taskRequest.getPriority(), TaskPriority.MEDIUM).name(),
+                Boolean.toString(taskRequest.isFavorite()),
+                categoryArray,
+                Objects.toString(taskRequest.getRecurrenceRule(), ""),
+                Objects.toString(recurrenceUntil, "")
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.salah.taskmate.task;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.salah.taskmate.task.dto.TaskRequest;
+import com.salah.taskmate.task.enums.TaskFileFormat;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@Component
+public class TaskImportReader {
+
+    private static final String CATEGORY_IDS_COLUMN = "categoryIds";
+    private static final String CATEGORY_ID_SEPARATOR = ";";
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public TaskImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(TaskImportRow row) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        TaskRequest parse() throws JsonProcessingException;
+    }
+
+    public void read(TaskFileFormat format, InputStream inputStream, RowHandler handler) throws IOException {
+        if (format == TaskFileFormat.CSV) {
+            readCsv(inputStream, handler);
+        } else {
+            readNdjson(inputStream, handler);
+        }
+    }
+
+    private void readNdjson(InputStream inputStream, RowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long rowNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String json = line;
+            handler.handle(parse(rowNumber, () -> objectMapper.readValue(json, TaskRequest.class)));
+        }
+    }
+
+    private void readCsv(InputStream inputStream, RowHandler handler) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        long rowNumber = 0;
+
+        try (MappingIterator<Map<String, String>> rows = csvMapper.readerForMapOf(String.class)
+                .with(schema)
+                .readValues(inputStream)) {
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                ObjectNode fields = toFields(rows.nextValue());
+                handler.handle(parse(rowNumber, () -> objectMapper.treeToValue(fields, TaskRequest.class)));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed CSV after row " + rowNumber + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private TaskImportRow parse(long rowNumber, RowParser parser) {
+        try {
+            return new TaskImportRow(rowNumber, parser.parse(), null);
+        } catch (JsonProcessingException e) {
+            return new TaskImportRow(rowNumber, null, e.getOriginalMessage());
+        }
+    }
+
+    private ObjectNode toFields(Map<String, String> columns) {
+        ObjectNode fields = objectMapper.createObjectNode();
+        columns.forEach((column, value) -> {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            if (CATEGORY_IDS_COLUMN.equals(column)) {
+                ArrayNode categoryIds = fields.putArray(column);
+                for (String categoryId : value.split(CATEGORY_ID_SEPARATOR)) {
+                    if (!categoryId.isBlank()) {
+                        categoryIds.add(categoryId.trim());
+                    }
+                }
+            } else {
+                fields.put(column, value);
+            }
+        });
+        return fields;
+    }
+}
@@ -0,0 +1,6 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.dto.TaskRequest;
+
+public record TaskImportRow(long rowNumber, TaskRequest request, String parseError) {
+}
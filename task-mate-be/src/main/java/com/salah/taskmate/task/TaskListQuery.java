@@ -0,0 +1,133 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.category.Category;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskSortField;
+import com.salah.taskmate.task.enums.TaskStatus;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Filter and sort for the task list. Only shapes an index answers in order are accepted: the equality filters
+ * must be the leading columns of a composite index on task and the sort its trailing (column, id) pair, and a
+ * due range only narrows a due-date ordered scan. See V4__task_list_filter_indexes.sql.
+ */
+public record TaskListQuery(
+        TaskStatus status,
+        TaskPriority priority,
+        Boolean favorite,
+        UUID categoryId,
+        LocalDateTime dueFrom,
+        LocalDateTime dueTo,
+        TaskSortField sortField,
+        Sort.Direction direction) {
+
+    private static final Map<Set<String>, Set<TaskSortField>> INDEXED_SHAPES = Map.of(
+            Set.of(), EnumSet.of(TaskSortField.DUE_DATE, TaskSortField.UPDATED_AT),
+            Set.of("status"), EnumSet.of(TaskSortField.DUE_DATE),
+            Set.of("priority"), EnumSet.of(TaskSortField.DUE_DATE),
+            Set.of("status", "priority"), EnumSet.of(TaskSortField.DUE_DATE),
+            Set.of("favorite"), EnumSet.of(TaskSortField.DUE_DATE),
+            Set.of("categoryId"), EnumSet.of(TaskSortField.DUE_DATE));
+
+    public static final TaskListQuery UNFILTERED =
+            new TaskListQuery(null, null, null, null, null, null, TaskSortField.DUE_DATE, Sort.Direction.ASC);
+
+    public TaskListQuery {
+        Set<String> filters = new TreeSet<>();
+        if (status != null) {
+            filters.add("status");
+        }
+        if (priority != null) {
+            filters.add("priority");
+        }
+        if (favorite != null) {
+            filters.add("favorite");
+        }
+        if (categoryId != null) {
+            filters.add("categoryId");
+        }
+        Set<TaskSortField> sortable = INDEXED_SHAPES.get(filters);
+        if (sortable == null) {
+            throw new IllegalArgumentException("Unsupported task filter combination: " + String.join(", ", filters));
+        }
+        if (!sortable.contains(sortField)) {
+            throw new IllegalArgumentException("Tasks filtered by " + String.join(", ", filters)
+                    + " cannot be sorted by " + sortField.getJsonName());
+        }
+        if ((dueFrom != null || dueTo != null) && sortField != TaskSortField.DUE_DATE) {
+            throw new IllegalArgumentException("A due date range requires sorting by dueDate");
+        }
+        if (dueFrom != null && dueTo != null && !dueFrom.isBefore(dueTo)) {
+            throw new IllegalArgumentException("dueFrom must be before dueTo");
+        }
+    }
+
+    /**
+     * Parses {@code sort} as {@code field} or {@code field,asc|desc}.
+     */
+    public static TaskListQuery of(
+            TaskStatus status,
+            TaskPriority priority,
+            Boolean favorite,
+            UUID categoryId,
+            LocalDateTime dueFrom,
+            LocalDateTime dueTo,
+            String sort) {
+        String[] parts = sort.split(",", 2);
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Unsupported sort direction: " + parts[1]))
+                : Sort.Direction.ASC;
+        return new TaskListQuery(status, priority, favorite, categoryId, dueFrom, dueTo,
+                TaskSortField.parse(parts[0].trim()), direction);
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, sortField.getJsonName(), "id");
+    }
+
+    public Specification<Task> toSpecification(UUID userId) {
+        return (task, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(task.get("user").get("id"), userId));
+            if (status != null) {
+                predicates.add(cb.equal(task.get("status"), status));
+            }
+            if (priority != null) {
+                predicates.add(cb.equal(task.get("priority"), priority));
+            }
+            if (favorite != null) {
+                predicates.add(cb.equal(task.get("isFavorite"), favorite));
+            }
+            if (dueFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), dueFrom));
+            }
+            if (dueTo != null) {
+                predicates.add(cb.lessThan(task.get("dueDate"), dueTo));
+            }
+            if (categoryId != null) {
+                // correlated, so each task is probed through (task_id, category_id) while walking the due-date index
+                Subquery<Integer> categorized = query.subquery(Integer.class);
+                Root<Task> correlated = categorized.correlate(task);
+                Join<Task, Category> category = correlated.join("categories");
+                categorized.select(cb.literal(1)).where(cb.equal(category.get("id"), categoryId));
+                predicates.add(cb.exists(categorized));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
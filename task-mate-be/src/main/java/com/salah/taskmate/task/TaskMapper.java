@@ -3,14 +3,23 @@ package com.salah.taskmate.task;
 import com.salah.taskmate.category.Category;
 import com.salah.taskmate.category.CategoryMapper;
 import com.salah.taskmate.category.dto.CategoryResponse;
+import com.salah.taskmate.task.dto.TaskExportRow;
 import com.salah.taskmate.task.dto.TaskRequest;
 import com.salah.taskmate.task.dto.TaskResponse;
+import com.salah.taskmate.task.dto.TaskSearchResult;
+import com.salah.taskmate.task.dto.TaskSummaryResponse;
+import com.salah.taskmate.task.enums.TaskField;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
 import com.salah.taskmate.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,11 +38,25 @@ public class TaskMapper {
                 .status(taskRequest.getStatus())
                 .priority(taskRequest.getPriority())
                 .isFavorite(taskRequest.isFavorite())
+                .recurrenceRule(taskRequest.getRecurrenceRule())
                 .user(user)
                 .categories(categorySet)
                 .build();
     }
 
+    public TaskRequest toRequest(Task task) {
+        return TaskRequest.builder()
+                .title(task.getTitle())
+                .content(task.getContent())
+                .dueDate(task.getDueDate())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .isFavorite(task.isFavorite())
+                .categoryIds(task.getCategories().stream().map(Category::getId).toList())
+                .recurrenceRule(task.getRecurrenceRule())
+                .build();
+    }
+
     public TaskResponse toResponse(Task task) {
         List<CategoryResponse> categoryResponses = task.getCategories().stream()
                 .map(categoryMapper::toResponse)
@@ -44,12 +67,134 @@ public class TaskMapper {
                 .title(task.getTitle())
                 .content(task.getContent())
                 .dueDate(task.getDueDate())
-                .status(task.getStatus())
+                .status(statusOf(task))
                 .priority(task.getPriority())
                 .createdAt(task.getCreatedAt())
                 .username(task.getUser().getUsername())
                 .isFavorite(task.isFavorite())
                 .categories(categoryResponses)
+                .recurrenceRule(task.getRecurrenceRule())
+                .seriesId(task.getSeriesId())
+                .occurrenceDate(task.getOccurrenceDate())
+                .archived(task.isArchived())
+                .build();
+    }
+
+    /**
+     * Virtual occurrence of a series: it has no id of its own until it is materialized.
+     */
+    public TaskResponse toOccurrenceResponse(TaskOccurrence occurrence) {
+        Task series = occurrence.series();
+        return TaskResponse.builder()
+                .title(series.getTitle())
+                .content(series.getContent())
+                .dueDate(occurrence.dueDate())
+                .status(resolveStatus(TaskStatus.PENDING, occurrence.dueDate()))
+                .priority(series.getPriority())
+                .createdAt(series.getCreatedAt())
+                .username(series.getUser().getUsername())
+                .isFavorite(series.isFavorite())
+                .categories(series.getCategories().stream().map(categoryMapper::toResponse).toList())
+                .seriesId(series.getId())
+                .occurrenceDate(occurrence.dueDate())
+                .build();
+    }
+
+    public TaskSummaryResponse toOccurrenceSummary(TaskOccurrence occurrence) {
+        Task series = occurrence.series();
+        return TaskSummaryResponse.builder()
+                .title(series.getTitle())
+                .dueDate(occurrence.dueDate())
+                .status(resolveStatus(TaskStatus.PENDING, occurrence.dueDate()))
+                .priority(series.getPriority())
+                .isFavorite(series.isFavorite())
+                .seriesId(series.getId())
+                .occurrenceDate(occurrence.dueDate())
+                .build();
+    }
+
+    public Map<String, Object> toOccurrenceView(TaskOccurrence occurrence, Set<TaskField> fields) {
+        TaskResponse response = toOccurrenceResponse(occurrence);
+        Map<String, Object> view = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            view.put(field.getJsonName(), switch (field) {
+                case ID -> response.getId();
+                case TITLE -> response.getTitle();
+                case CONTENT -> response.getContent();
+                case DUE_DATE -> response.getDueDate();
+                case STATUS -> response.getStatus();
+                case PRIORITY -> response.getPriority();
+                case CREATED_AT -> response.getCreatedAt();
+                case USERNAME -> response.getUsername();
+                case IS_FAVORITE -> response.isFavorite();
+                case CATEGORIES -> response.getCategories();
+            });
+        }
+        view.put("seriesId", response.getSeriesId());
+        view.put("occurrenceDate", response.getOccurrenceDate());
+        return view;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> toView(Map<String, Object> row, Set<TaskField> fields) {
+        if (fields.contains(TaskField.STATUS)) {
+            TaskStatus status = (TaskStatus) row.get(TaskField.STATUS.getJsonName());
+            boolean recurring = row.remove(TaskProjectionRepository.RECURRENCE_RULE) != null;
+            row.put(TaskField.STATUS.getJsonName(), recurring
+                    ? status
+                    : resolveStatus(status, (LocalDateTime) row.get(TaskField.DUE_DATE.getJsonName())));
+        }
+        if (!fields.contains(TaskField.DUE_DATE)) {
+            row.remove(TaskField.DUE_DATE.getJsonName());
+        }
+        if (fields.contains(TaskField.CATEGORIES)) {
+            row.put(TaskField.CATEGORIES.getJsonName(), ((List<Category>) row.get(TaskField.CATEGORIES.getJsonName()))
+                    .stream()
+                    .map(categoryMapper::toResponse)
+                    .toList());
+        }
+        return row;
+    }
+
+    public TaskExportRow toExportRow(Task task) {
+        return TaskExportRow.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .content(task.getContent())
+                .dueDate(task.getDueDate())
+                .status(statusOf(task))
+                .priority(task.getPriority())
+                .isFavorite(task.isFavorite())
+                .createdAt(task.getCreatedAt())
+                .categories(task.getCategories().stream().map(Category::getName).sorted().toList())
+                .recurrenceRule(task.getRecurrenceRule())
+                .build();
+    }
+
+    public TaskSearchResult toSearchResult(TaskSearchHit hit) {
+        return TaskSearchResult.builder()
+                .id(hit.getId())
+                .title(hit.getTitle())
+                .dueDate(hit.getDueDate())
+                .status(resolveStatus(TaskStatus.valueOf(hit.getStatus()), hit.getDueDate()))
+                .priority(TaskPriority.valueOf(hit.getPriority()))
+                .rank(hit.getRank())
+                .titleHighlight(hit.getTitleHighlight())
+                .contentHighlight(hit.getContentHighlight())
                 .build();
     }
+
+    // a series' due date is only its first occurrence, so the series itself never turns MISSED
+    private TaskStatus statusOf(Task task) {
+        return task.isRecurring() ? task.getStatus() : resolveStatus(task.getStatus(), task.getDueDate());
+    }
+
+    private TaskStatus resolveStatus(TaskStatus status, LocalDateTime dueDate) {
+        if (status == TaskStatus.PENDING
+                && dueDate != null
+                && dueDate.isBefore(LocalDateTime.now())) {
+            return TaskStatus.MISSED;
+        }
+        return status;
+    }
 }
@@ -0,0 +1,9 @@
+package com.salah.taskmate.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * One not-yet-materialized occurrence of a recurring task, computed from its series at read time.
+ */
+public record TaskOccurrence(Task series, LocalDateTime dueDate) {
+}
@@ -0,0 +1,50 @@
+package com.salah.taskmate.task;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Expands recurring tasks into their occurrences for a window. Occurrences that were materialized as their
+ * own rows are skipped here, since those rows are returned by the regular range queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskOccurrenceExpander {
+
+    private final TaskRepository taskRepository;
+    private final TaskArchiveFilter taskArchiveFilter;
+
+    public Expansion expand(UUID userId, LocalDateTime from, LocalDateTime to) {
+        List<Task> series = taskRepository.findSeriesInRange(userId, from, to);
+        if (series.isEmpty()) {
+            return new Expansion(series, List.of());
+        }
+
+        // archived occurrences still fill their slot, so they are not offered again as virtual ones
+        Set<TaskOccurrenceKey> materialized = new HashSet<>(taskArchiveFilter.read(true,
+                () -> taskRepository.findOccurrenceKeys(series.stream().map(Task::getId).toList(), from, to)));
+
+        List<TaskOccurrence> occurrences = new ArrayList<>();
+        for (Task task : series) {
+            RecurrenceRule rule = RecurrenceRule.parse(task.getRecurrenceRule());
+            for (LocalDateTime dueDate : rule.occurrencesBetween(task.getDueDate(), from, to)) {
+                if (!materialized.contains(new TaskOccurrenceKey(task.getId(), dueDate))) {
+                    occurrences.add(new TaskOccurrence(task, dueDate));
+                }
+            }
+        }
+        occurrences.sort(Comparator.comparing(TaskOccurrence::dueDate));
+        return new Expansion(series, occurrences);
+    }
+
+    public record Expansion(List<Task> series, List<TaskOccurrence> occurrences) {
+    }
+}
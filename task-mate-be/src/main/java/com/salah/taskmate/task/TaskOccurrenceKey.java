@@ -0,0 +1,7 @@
+package com.salah.taskmate.task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TaskOccurrenceKey(UUID seriesId, LocalDateTime occurrenceDate) {
+}
@@ -0,0 +1,31 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.enums.TaskField;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface TaskProjectionRepository {
+
+    /**
+     * Key of the series rule, selected alongside {@code status} so a series is not resolved as MISSED by its first
+     * due date. Not a {@link TaskField}; {@link TaskMapper#toView} removes it.
+     */
+    String RECURRENCE_RULE = "recurrenceRule";
+
+    Optional<Map<String, Object>> findProjectedById(UUID taskId, UUID userId, Set<TaskField> fields);
+
+    List<Map<String, Object>> findProjected(Specification<Task> spec, Set<TaskField> fields, Pageable pageable);
+
+    List<Map<String, Object>> findProjectedCursorPage(
+            UUID userId, Set<TaskField> fields, LocalDateTime afterDueDate, UUID afterId, int limit);
+
+    List<Map<String, Object>> findProjectedByDueDateBetween(
+            UUID userId, Set<TaskField> fields, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,160 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.category.Category;
+import com.salah.taskmate.task.enums.TaskField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Selects only the requested task columns as tuples. The user join is added for {@code username}
+ * and categories are loaded in one extra query, both only when asked for.
+ */
+public class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Map<String, Object>> findProjectedById(UUID taskId, UUID userId, Set<TaskField> fields) {
+        return select(fields,
+                (task, query, cb) -> cb.and(
+                        cb.equal(task.get("id"), taskId),
+                        cb.equal(task.get("user").get("id"), userId)),
+                Sort.unsorted(), 0, 1)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjected(Specification<Task> spec, Set<TaskField> fields, Pageable pageable) {
+        return select(fields, spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjectedCursorPage(
+            UUID userId, Set<TaskField> fields, LocalDateTime afterDueDate, UUID afterId, int limit) {
+        Set<TaskField> withCursorColumns = EnumSet.copyOf(fields);
+        withCursorColumns.add(TaskField.DUE_DATE);
+
+        return select(withCursorColumns,
+                (task, query, cb) -> {
+                    Predicate owner = cb.equal(task.get("user").get("id"), userId);
+                    if (afterDueDate == null) {
+                        return owner;
+                    }
+                    Path<LocalDateTime> dueDate = task.get("dueDate");
+                    return cb.and(owner, cb.or(
+                            cb.greaterThan(dueDate, afterDueDate),
+                            cb.and(cb.equal(dueDate, afterDueDate), cb.greaterThan(task.get("id"), afterId))));
+                },
+                Sort.by("dueDate", "id"), 0, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjectedByDueDateBetween(
+            UUID userId, Set<TaskField> fields, LocalDateTime from, LocalDateTime to) {
+        return select(fields,
+                (task, query, cb) -> cb.and(
+                        cb.equal(task.get("user").get("id"), userId),
+                        cb.isNull(task.get("recurrenceRule")),
+                        cb.between(task.get("dueDate"), from, to)),
+                Sort.by("dueDate", "id"), 0, 0);
+    }
+
+    private List<Map<String, Object>> select(
+            Set<TaskField> fields,
+            Specification<Task> where,
+            Sort sort,
+            long offset,
+            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (TaskField field : columnsFor(fields)) {
+            Path<?> path = field == TaskField.USERNAME
+                    ? task.join("user").get("username")
+                    : task.get(field.getJsonName());
+            selections.add(path.alias(field.getJsonName()));
+        }
+        if (fields.contains(TaskField.STATUS)) {
+            selections.add(task.get("recurrenceRule").alias(RECURRENCE_RULE));
+        }
+
+        query.multiselect(selections).where(where.toPredicate(task, query, cb));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, task, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (offset > 0) {
+            typedQuery.setFirstResult(Math.toIntExact(offset));
+        }
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+
+        if (fields.contains(TaskField.CATEGORIES) && !rows.isEmpty()) {
+            attachCategories(rows);
+        }
+        return rows;
+    }
+
+    private void attachCategories(List<Map<String, Object>> rows) {
+        List<UUID> taskIds = rows.stream().map(row -> (UUID) row.get(TaskField.ID.getJsonName())).toList();
+
+        Map<UUID, List<Category>> categoriesByTask = new HashMap<>();
+        entityManager.createQuery("""
+                        SELECT t.id, c FROM Task t JOIN t.categories c WHERE t.id IN :taskIds
+                        """, Object[].class)
+                .setParameter("taskIds", taskIds)
+                .getResultList()
+                .forEach(pair -> categoriesByTask
+                        .computeIfAbsent((UUID) pair[0], id -> new ArrayList<>())
+                        .add((Category) pair[1]));
+
+        for (Map<String, Object> row : rows) {
+            row.put(TaskField.CATEGORIES.getJsonName(),
+                    categoriesByTask.getOrDefault((UUID) row.get(TaskField.ID.getJsonName()), List.of()));
+        }
+    }
+
+    private Set<TaskField> columnsFor(Set<TaskField> fields) {
+        Set<TaskField> columns = EnumSet.copyOf(fields);
+        columns.add(TaskField.ID);
+        columns.remove(TaskField.CATEGORIES);
+        if (columns.contains(TaskField.STATUS)) {
+            columns.add(TaskField.DUE_DATE);
+        }
+        return columns;
+    }
+}
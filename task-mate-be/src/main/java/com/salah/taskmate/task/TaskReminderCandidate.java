@@ -0,0 +1,9 @@
+package com.salah.taskmate.task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TaskReminderCandidate {
+    UUID getId();
+    LocalDateTime getDueDate();
+}
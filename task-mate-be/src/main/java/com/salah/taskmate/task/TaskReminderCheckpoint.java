@@ -0,0 +1,33 @@
+package com.salah.taskmate.task;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Last (dueDate, taskId) position whose reminder was sent, so a restart resumes from there. The lease columns
+ * are only written through {@link TaskReminderCheckpointRepository}.
+ */
+@Entity
+@Table(name = "task_reminder_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskReminderCheckpoint {
+    @Id
+    @Column(length = 64, nullable = false, updatable = false)
+    private String name;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDateTime dueDate;
+
+    @Column(name = "task_id", columnDefinition = "uuid", nullable = false)
+    private UUID taskId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,58 @@
+package com.salah.taskmate.task;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TaskReminderCheckpointRepository extends JpaRepository<TaskReminderCheckpoint, String> {
+
+    /**
+     * Takes or renews the lease on a checkpoint, creating it at {@code dueDate} if it does not exist yet. Returns 1
+     * when {@code owner} holds the lease afterwards, 0 while another owner's lease is still running.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_reminder_checkpoint AS checkpoint (name, due_date, task_id, updated_at, lease_owner, lease_until)
+            VALUES (:name, :dueDate, :taskId, localtimestamp, :owner, localtimestamp + make_interval(secs => :leaseSeconds))
+            ON CONFLICT (name) DO UPDATE
+            SET lease_owner = EXCLUDED.lease_owner, lease_until = EXCLUDED.lease_until
+            WHERE checkpoint.lease_owner = EXCLUDED.lease_owner
+               OR checkpoint.lease_until IS NULL
+               OR checkpoint.lease_until < localtimestamp
+            """, nativeQuery = true)
+    int acquireLease(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("leaseSeconds") long leaseSeconds,
+            @Param("dueDate") LocalDateTime dueDate,
+            @Param("taskId") UUID taskId);
+
+    // fenced by the lease, so an instance that lost it cannot move the checkpoint of the one that took over
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE task_reminder_checkpoint
+            SET due_date = :dueDate, task_id = :taskId, updated_at = :now
+            WHERE name = :name AND lease_owner = :owner
+            """, nativeQuery = true)
+    int advance(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("dueDate") LocalDateTime dueDate,
+            @Param("taskId") UUID taskId,
+            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE task_reminder_checkpoint SET lease_until = NULL
+            WHERE name = :name AND lease_owner = :owner
+            """, nativeQuery = true)
+    int releaseLease(@Param("name") String name, @Param("owner") String owner);
+}
@@ -0,0 +1,357 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.auth.service.EmailService;
+import com.salah.taskmate.shared.scheduling.HierarchicalTimingWheel;
+import com.salah.taskmate.task.dto.TaskResponse;
+import com.salah.taskmate.task.enums.TaskChangeType;
+import com.salah.taskmate.task.enums.TaskStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends "due soon" reminders {@code lead-time} before each pending task's due date.
+ * Upcoming due dates are paged in by (dueDate, id) keyset over a rolling window and parked in a timing wheel,
+ * so at most {@code max-pending} reminders are held in memory however many tasks exist. Fired reminders are
+ * re-checked against the database, grouped into one email per user, and the last sent position is persisted
+ * so a restart resumes from the checkpoint instead of rescanning. Reminders whose email failed are retried every
+ * {@code retry-delay} until their task is due, and the checkpoint never moves past them. Only the instance holding
+ * the checkpoint's lease loads and sends reminders.
+ */
+@Component
+@Slf4j
+public class TaskReminderScheduler {
+
+    private static final String CHECKPOINT = "task-due-reminders";
+    private static final UUID MIN_ID = new UUID(0, 0);
+    private static final UUID MAX_ID = new UUID(-1, -1);
+
+    private final TaskRepository taskRepository;
+    private final TaskReminderCheckpointRepository checkpointRepository;
+    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration leadTime;
+    private final Duration window;
+    private final int maxPending;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Set<Reminder> pending = new HashSet<>();
+    private final List<Reminder> due = new ArrayList<>();
+    private final TreeSet<Reminder> retrying = new TreeSet<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+    private volatile boolean leader;
+    private Reminder loadedThrough;
+    private Reminder sentThrough;
+    private Reminder firedThrough;
+
+    public TaskReminderScheduler(
+            TaskRepository taskRepository,
+            TaskReminderCheckpointRepository checkpointRepository,
+            EmailService emailService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${task.reminders.lead-time:PT15M}") Duration leadTime,
+            @Value("${task.reminders.window:PT1H}") Duration window,
+            @Value("${task.reminders.max-pending:10000}") int maxPending,
+            @Value("${task.reminders.batch-size:500}") int batchSize,
+            @Value("${task.reminders.retry-delay:PT1M}") Duration retryDelay,
+            @Value("${task.reminders.lease:PT3M}") Duration lease,
+            @Value("${task.reminders.tick:PT1S}") Duration tick,
+            @Value("${task.reminders.wheel-size:64}") int wheelSize,
+            @Value("${task.reminders.wheel-levels:3}") int wheelLevels) {
+        this.taskRepository = taskRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
+        this.leadTime = leadTime;
+        this.window = window;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.lease = lease;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), wheelSize, wheelLevels, System.currentTimeMillis());
+    }
+
+    /**
+     * Tops the wheel up with every reminder due before the end of the next window, within the memory bound.
+     */
+    @Scheduled(
+            initialDelayString = "${task.reminders.initial-delay-ms:5000}",
+            fixedDelayString = "${task.reminders.load-interval-ms:60000}"
+    )
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leadTime).plus(window);
+        if (!renewLease(now)) {
+            return;
+        }
+        if (loadedThrough == null) {
+            restoreCheckpoint(now);
+        }
+
+        int loaded = 0;
+        while (true) {
+            Reminder from;
+            int room;
+            synchronized (this) {
+                // the lease was lost to another instance while loading
+                if (loadedThrough == null) {
+                    return;
+                }
+                Reminder floor = new Reminder(MIN_ID, now);
+                from = loadedThrough.compareTo(floor) < 0 ? floor : loadedThrough;
+                room = Math.min(batchSize, maxPending - pending.size());
+            }
+            if (room <= 0 || !from.dueDate().isBefore(until)) {
+                break;
+            }
+            List<TaskReminderCandidate> candidates = taskRepository.findReminderCandidates(
+                    from.dueDate(), from.taskId(), until, Limit.of(room));
+            synchronized (this) {
+                if (loadedThrough == null) {
+                    return;
+                }
+                candidates.forEach(candidate -> schedule(new Reminder(candidate.getId(), candidate.getDueDate())));
+                loadedThrough = candidates.size() < room
+                        ? new Reminder(MAX_ID, until)
+                        : new Reminder(candidates.getLast().getId(), candidates.getLast().getDueDate());
+            }
+            loaded += candidates.size();
+            if (candidates.size() < room) {
+                break;
+            }
+        }
+        if (loaded > 0) {
+            log.debug("Loaded {} task reminder(s) due before {}", loaded, until);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.reminders.tick-interval-ms:1000}")
+    public void tick() {
+        if (!leader) {
+            return;
+        }
+        List<Reminder> expired;
+        synchronized (this) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+            if (due.isEmpty()) {
+                return;
+            }
+            expired = List.copyOf(due);
+            due.clear();
+        }
+        dispatcher.execute(() -> fire(expired));
+    }
+
+    /**
+     * Keeps the wheel in step with edits to tasks that were already loaded; anything past the loaded
+     * position is picked up by the next {@link #load()}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChange(TaskChangeEvent event) {
+        if (loadedThrough == null) {
+            return;
+        }
+        if (event.type() == TaskChangeType.RESYNC) {
+            // bulk changes and imports don't say which tasks moved, so re-read the window from the last reminder sent
+            loadedThrough = firedThrough;
+            return;
+        }
+        TaskResponse task = event.task();
+        if ((event.type() != TaskChangeType.CREATED && event.type() != TaskChangeType.UPDATED)
+                || task == null || task.getStatus() != TaskStatus.PENDING
+                || task.getRecurrenceRule() != null || task.getDueDate() == null) {
+            return;
+        }
+        Reminder reminder = new Reminder(task.getId(), task.getDueDate());
+        if (reminder.compareTo(loadedThrough) > 0 || !task.getDueDate().isAfter(LocalDateTime.now())) {
+            return;
+        }
+        if (pending.size() < maxPending) {
+            schedule(reminder);
+        } else {
+            loadedThrough = firedThrough;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+        // lets a standby instance take over on its next load instead of waiting the lease out
+        if (leader) {
+            try {
+                checkpointRepository.releaseLease(CHECKPOINT, instanceId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to release the task reminders lease", e);
+            }
+        }
+    }
+
+    private void schedule(Reminder reminder) {
+        if (!pending.add(reminder)) {
+            return;
+        }
+        long remindAt = reminder.dueDate().minus(leadTime).atZone(zone).toInstant().toEpochMilli();
+        if (!wheel.schedule(remindAt, reminder)) {
+            due.add(reminder);
+        }
+    }
+
+    /**
+     * Standing by drops the loaded position and pending retries, so the instance resumes from the checkpoint,
+     * which the other holder may have moved, once it gets the lease back.
+     */
+    private boolean renewLease(LocalDateTime now) {
+        boolean held;
+        try {
+            held = checkpointRepository.acquireLease(CHECKPOINT, instanceId, lease.toSeconds(), now, MIN_ID) == 1;
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew the task reminders lease, standing by", e);
+            held = false;
+        }
+        if (held != leader) {
+            log.info(held ? "Task reminders lease acquired" : "Task reminders lease held by another instance");
+        }
+        if (!held) {
+            synchronized (this) {
+                loadedThrough = null;
+                retrying.clear();
+            }
+        }
+        leader = held;
+        return held;
+    }
+
+    private void restoreCheckpoint(LocalDateTime now) {
+        Reminder restored = checkpointRepository.findById(CHECKPOINT)
+                .map(checkpoint -> new Reminder(checkpoint.getTaskId(), checkpoint.getDueDate()))
+                .orElse(new Reminder(MIN_ID, now));
+        synchronized (this) {
+            firedThrough = restored;
+            sentThrough = restored;
+            loadedThrough = restored;
+        }
+        log.info("Task reminders resuming after due date {}", restored.dueDate());
+    }
+
+    private void fire(List<Reminder> reminders) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!renewLease(now)) {
+            // the new holder resumes from the checkpoint, which is not past these
+            synchronized (this) {
+                reminders.forEach(pending::remove);
+            }
+            return;
+        }
+        Set<Reminder> failed = new HashSet<>();
+        for (int start = 0; start < reminders.size(); start += batchSize) {
+            failed.addAll(send(reminders.subList(start, Math.min(start + batchSize, reminders.size())), now));
+        }
+
+        Reminder checkpoint;
+        synchronized (this) {
+            long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+            for (Reminder reminder : reminders) {
+                if (!failed.contains(reminder)) {
+                    pending.remove(reminder);
+                    retrying.remove(reminder);
+                } else {
+                    retrying.add(reminder);
+                    if (!wheel.schedule(retryAt, reminder)) {
+                        due.add(reminder);
+                    }
+                }
+            }
+            // reminders fire in due-date order, so everything up to the latest one sent is done, except retries
+            reminders.stream()
+                    .filter(reminder -> !failed.contains(reminder))
+                    .max(Reminder::compareTo)
+                    .filter(latest -> latest.compareTo(sentThrough) > 0)
+                    .ifPresent(latest -> sentThrough = latest);
+            checkpoint = retrying.isEmpty() || sentThrough.compareTo(retrying.first()) < 0
+                    ? sentThrough
+                    : new Reminder(MIN_ID, retrying.first().dueDate());
+            if (checkpoint.compareTo(firedThrough) <= 0) {
+                return;
+            }
+            firedThrough = checkpoint;
+        }
+        checkpointRepository.advance(CHECKPOINT, instanceId, checkpoint.dueDate(), checkpoint.taskId(), now);
+    }
+
+    /**
+     * Returns the reminders that could not be sent and should be retried.
+     */
+    private Set<Reminder> send(List<Reminder> batch, LocalDateTime now) {
+        Map<UUID, TaskReminderTarget> targets;
+        try {
+            targets = taskRepository
+                    .findReminderTargets(batch.stream().map(Reminder::taskId).toList()).stream()
+                    .collect(Collectors.toMap(TaskReminderTarget::getId, Function.identity()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to load {} task reminder(s), retrying in {}", batch.size(), retryDelay, e);
+            return new HashSet<>(batch);
+        }
+
+        Map<UUID, List<TaskReminderTarget>> byUser = batch.stream()
+                .map(reminder -> targets.get(reminder.taskId()))
+                .filter(target -> target != null
+                        && target.getStatus() == TaskStatus.PENDING
+                        && target.getDueDate().isAfter(now)
+                        && batch.contains(new Reminder(target.getId(), target.getDueDate())))
+                .collect(Collectors.groupingBy(TaskReminderTarget::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        Set<Reminder> failed = new HashSet<>();
+        byUser.forEach((userId, tasks) -> {
+            try {
+                emailService.sendTaskReminderEmail(tasks.getFirst().getEmail(), tasks.getFirst().getUsername(), tasks);
+            } catch (RuntimeException e) {
+                log.warn("Failed to email {} task reminder(s) to user {}, retrying in {}", tasks.size(), userId, retryDelay, e);
+                tasks.forEach(task -> failed.add(new Reminder(task.getId(), task.getDueDate())));
+                return;
+            }
+            tasks.forEach(task -> eventPublisher.publishEvent(TaskChangeEvent.reminder(userId, task.getId())));
+        });
+        return failed;
+    }
+
+    /**
+     * Ordered like the (due_date, id) index: uuids compare as unsigned bytes, as in PostgreSQL.
+     */
+    private record Reminder(UUID taskId, LocalDateTime dueDate) implements Comparable<Reminder> {
+
+        @Override
+        public int compareTo(Reminder other) {
+            int byDueDate = dueDate.compareTo(other.dueDate);
+            if (byDueDate != 0) {
+                return byDueDate;
+            }
+            int byHigh = Long.compareUnsigned(taskId.getMostSignificantBits(), other.taskId.getMostSignificantBits());
+            return byHigh != 0 ? byHigh : Long.compareUnsigned(taskId.getLeastSignificantBits(), other.taskId.getLeastSignificantBits());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TaskReminderTarget {
+    UUID getId();
+    String getTitle();
+    LocalDateTime getDueDate();
+    TaskStatus getStatus();
+    UUID getUserId();
+    String getEmail();
+    String getUsername();
+}
@@ -1,21 +1,348 @@
 package com.salah.taskmate.task;
 
+import com.salah.taskmate.task.dto.TaskSummaryResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task>,
+        TaskBulkRepository, TaskProjectionRepository {
 
+    long countByUserId(UUID userId);
+
+
+    @EntityGraph(attributePaths = {"user", "categories"})
     Optional<Task> findByIdAndUserId(UUID taskId, UUID userId);
 
-    Page<Task> findAllByUserId(UUID userId, Pageable pageable);
+    @EntityGraph(attributePaths = {"user", "categories"})
+    List<Task> findAllByIdInAndUserId(Collection<UUID> taskIds, UUID userId);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Task> findAll(Specification<Task> spec, Pageable pageable);
+
+    @Query("""
+            SELECT t FROM Task t
+            JOIN FETCH t.user
+            WHERE t.user.id = :userId
+            ORDER BY t.dueDate ASC, t.id ASC
+            """)
+    List<Task> findCursorPageByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query("""
+            SELECT t FROM Task t
+            JOIN FETCH t.user
+            WHERE t.user.id = :userId
+              AND (t.dueDate, t.id) > (:dueDate, :id)
+            ORDER BY t.dueDate ASC, t.id ASC
+            """)
+    List<Task> findCursorPageByUserIdAfter(
+            @Param("userId") UUID userId,
+            @Param("dueDate") LocalDateTime dueDate,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @Query("""
+            SELECT t FROM Task t
+            JOIN FETCH t.user
+            WHERE t.user.id = :userId
+              AND (t.changeXid, t.id) > (:changeXid, :id)
+              AND t.changeXid < :horizon
+            ORDER BY t.changeXid ASC, t.id ASC
+            """)
+    List<Task> findChangedSince(
+            @Param("userId") UUID userId,
+            @Param("changeXid") long changeXid,
+            @Param("id") UUID id,
+            @Param("horizon") long horizon,
+            Limit limit);
+
+    /**
+     * Oldest transaction id still running: every transaction below it has committed or aborted, so rows stamped
+     * below it can no longer appear. Read-write so it is taken on the primary, where the feed is read.
+     */
+    @Transactional
+    @Query(value = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", nativeQuery = true)
+    long findChangeHorizon();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId ORDER BY t.dueDate ASC, t.id ASC")
+    Stream<Task> streamAllByUserId(@Param("userId") UUID userId);
+
+    @EntityGraph(attributePaths = {"user", "categories"})
+    List<Task> findByUserIdAndRecurrenceRuleIsNullAndDueDateBetween(
+            UUID userId, LocalDateTime dueDateAfter, LocalDateTime dueDateBefore);
+
+    @Query("""
+            SELECT t FROM Task t
+            JOIN FETCH t.user
+            WHERE t.user.id = :userId
+              AND t.recurrenceRule IS NOT NULL
+              AND t.dueDate < :to
+              AND (t.recurrenceUntil IS NULL OR t.recurrenceUntil >= :from)
+            """)
+    List<Task> findSeriesInRange(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.salah.taskmate.task.TaskOccurrenceKey(t.seriesId, t.occurrenceDate)
+            FROM Task t
+            WHERE t.seriesId IN :seriesIds AND t.occurrenceDate >= :from AND t.occurrenceDate < :to
+            """)
+    List<TaskOccurrenceKey> findOccurrenceKeys(
+            @Param("seriesIds") Collection<UUID> seriesIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    Optional<Task> findBySeriesIdAndOccurrenceDateAndUserId(UUID seriesId, LocalDateTime occurrenceDate, UUID userId);
+
+    List<Task> findAllBySeriesIdAndUserId(UUID seriesId, UUID userId);
+
+    @Query("""
+            SELECT new com.salah.taskmate.task.TaskDayCount(
+                cast(t.dueDate as LocalDate),
+                CASE WHEN t.status = com.salah.taskmate.task.enums.TaskStatus.PENDING AND t.dueDate < local_datetime
+                     THEN com.salah.taskmate.task.enums.TaskStatus.MISSED
+                     ELSE t.status END,
+                t.priority,
+                count(t))
+            FROM Task t
+            WHERE t.user.id = :userId AND t.recurrenceRule IS NULL AND t.dueDate >= :from AND t.dueDate < :to
+            GROUP BY cast(t.dueDate as LocalDate),
+                CASE WHEN t.status = com.salah.taskmate.task.enums.TaskStatus.PENDING AND t.dueDate < local_datetime
+                     THEN com.salah.taskmate.task.enums.TaskStatus.MISSED
+                     ELSE t.status END,
+                t.priority
+            """)
+    List<TaskDayCount> countByDay(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.salah.taskmate.task.dto.TaskSummaryResponse(
+                t.id,
+                t.title,
+                t.dueDate,
+                CASE WHEN t.status = com.salah.taskmate.task.enums.TaskStatus.PENDING AND t.dueDate < local_datetime
+                     THEN com.salah.taskmate.task.enums.TaskStatus.MISSED
+                     ELSE t.status END,
+                t.priority,
+                t.isFavorite,
+                t.seriesId,
+                t.occurrenceDate)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.recurrenceRule IS NULL AND t.dueDate >= :from AND t.dueDate < :to
+            ORDER BY t.dueDate ASC, t.id ASC
+            """)
+    List<TaskSummaryResponse> findSummariesInRange(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.salah.taskmate.task.TaskSliceVersion(
+                count(t),
+                sum(t.changeXid),
+                sum(CASE WHEN t.status = com.salah.taskmate.task.enums.TaskStatus.PENDING AND t.dueDate < local_datetime
+                         THEN 1 ELSE 0 END))
+            FROM Task t
+            WHERE t.user.id = :userId
+            """)
+    TaskSliceVersion findSliceVersionByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+            SELECT new com.salah.taskmate.task.TaskSliceVersion(
+                count(t),
+                sum(t.changeXid),
+                sum(CASE WHEN t.status = com.salah.taskmate.task.enums.TaskStatus.PENDING AND t.dueDate < local_datetime
+                         THEN 1 ELSE 0 END))
+            FROM Task t
+            WHERE t.id = :taskId AND t.user.id = :userId
+            """)
+    TaskSliceVersion findSliceVersionByIdAndUserId(@Param("taskId") UUID taskId, @Param("userId") UUID userId);
+
+    @Query("""
+            SELECT new com.salah.taskmate.task.TaskSliceVersion(
+                count(t),
+                sum(t.changeXid),
+                sum(CASE WHEN t.status = com.salah.taskmate.task.enums.TaskStatus.PENDING AND t.dueDate < local_datetime
+                         THEN 1 ELSE 0 END))
+            FROM Task t
+            WHERE t.user.id = :userId AND t.recurrenceRule IS NULL AND t.dueDate BETWEEN :from AND :to
+            """)
+    TaskSliceVersion findSliceVersionByUserIdAndDueDateBetween(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT t.id AS id, t.title AS title FROM Task t WHERE t.user.id = :userId")
+    List<TaskTitleView> findTitlesByUserId(@Param("userId") UUID userId);
+
+    @Query(value = """
+            WITH query AS (SELECT websearch_to_tsquery('english', :q) AS q),
+            page AS (
+                SELECT t.id, t.title, t.content, t.due_date, t.status, t.priority,
+                       ts_rank_cd(t.search_vector, query.q) AS rank
+                FROM task t, query
+                WHERE t.user_id = :userId AND t.archived IN (:archived) AND t.search_vector @@ query.q
+                ORDER BY rank DESC, t.id DESC
+                LIMIT :limit
+            )
+            SELECT page.id AS "id",
+                   page.title AS "title",
+                   page.due_date AS "dueDate",
+                   page.status AS "status",
+                   page.priority AS "priority",
+                   page.rank AS "rank",
+                   ts_headline('english', page.title, query.q, 'HighlightAll=true') AS "titleHighlight",
+                   ts_headline('english', coalesce(page.content, ''), query.q,
+                               'MaxFragments=2, MaxWords=20, MinWords=5') AS "contentHighlight"
+            FROM page, query
+            ORDER BY page.rank DESC, page.id DESC
+            """, nativeQuery = true)
+    List<TaskSearchHit> search(
+            @Param("userId") UUID userId,
+            @Param("archived") Collection<Boolean> archived,
+            @Param("q") String q,
+            @Param("limit") int limit);
+
+    @Query(value = """
+            WITH query AS (SELECT websearch_to_tsquery('english', :q) AS q),
+            page AS (
+                SELECT t.id, t.title, t.content, t.due_date, t.status, t.priority,
+                       ts_rank_cd(t.search_vector, query.q) AS rank
+                FROM task t, query
+                WHERE t.user_id = :userId AND t.archived IN (:archived) AND t.search_vector @@ query.q
+                  AND (ts_rank_cd(t.search_vector, query.q), t.id) < (:rank, :id)
+                ORDER BY rank DESC, t.id DESC
+                LIMIT :limit
+            )
+            SELECT page.id AS "id",
+                   page.title AS "title",
+                   page.due_date AS "dueDate",
+                   page.status AS "status",
+                   page.priority AS "priority",
+                   page.rank AS "rank",
+                   ts_headline('english', page.title, query.q, 'HighlightAll=true') AS "titleHighlight",
+                   ts_headline('english', coalesce(page.content, ''), query.q,
+                               'MaxFragments=2, MaxWords=20, MinWords=5') AS "contentHighlight"
+            FROM page, query
+            ORDER BY page.rank DESC, page.id DESC
+            """, nativeQuery = true)
+    List<TaskSearchHit> searchAfter(
+            @Param("userId") UUID userId,
+            @Param("archived") Collection<Boolean> archived,
+            @Param("q") String q,
+            @Param("rank") float rank,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
+    // read-write so the counters are seeded from the primary even when reconciling outside a service transaction
+    @Transactional
+    @Query("""
+            SELECT new com.salah.taskmate.task.TaskGroupCount(t.status, t.priority, t.isFavorite, count(t))
+            FROM Task t
+            WHERE t.user.id = :userId
+            GROUP BY t.status, t.priority, t.isFavorite
+            """)
+    List<TaskGroupCount> countGroupsByUserId(@Param("userId") UUID userId);
+
+    @Transactional
+    @Query("""
+            SELECT new com.salah.taskmate.task.TaskCategoryCount(c.id, count(t))
+            FROM Task t JOIN t.categories c
+            WHERE t.user.id = :userId
+            GROUP BY c.id
+            """)
+    List<TaskCategoryCount> countCategoriesByUserId(@Param("userId") UUID userId);
+
+    @Transactional
+    @Query(value = """
+            WITH swept AS (
+                UPDATE task SET status = 'MISSED', updated_at = :now, version = version + 1
+                WHERE id IN (
+                    SELECT id FROM task
+                    WHERE archived = false AND status = 'PENDING' AND due_date < :now AND recurrence_rule IS NULL
+                    LIMIT :batchSize
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING user_id
+            )
+            SELECT swept.user_id AS "userId", count(*) AS "count"
+            FROM swept
+            GROUP BY swept.user_id
+            """, nativeQuery = true)
+    List<SweptTaskCount> markOverdueAsMissed(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // archived tasks leave every read path, so delta sync clients are told to drop them through a tombstone
+    @Transactional
+    @Query(value = """
+            WITH moved AS (
+                UPDATE task SET archived = true, updated_at = :now, version = version + 1
+                WHERE archived = false AND id IN (
+                    SELECT id FROM task
+                    WHERE archived = false AND status IN ('DONE', 'MISSED') AND recurrence_rule IS NULL
+                      AND updated_at < :cutoff AND due_date < :cutoff
+                    LIMIT :batchSize
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, user_id
+            ), tombstoned AS (
+                INSERT INTO task_tombstone (task_id, user_id, deleted_at)
+                SELECT moved.id, moved.user_id, :now FROM moved
+                ON CONFLICT (task_id) DO UPDATE
+                SET deleted_at = EXCLUDED.deleted_at, change_xid = EXCLUDED.change_xid
+            )
+            SELECT moved.user_id AS "userId", count(*) AS "count"
+            FROM moved
+            GROUP BY moved.user_id
+            """, nativeQuery = true)
+    List<SweptTaskCount> archiveFinishedBefore(
+            @Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 
-    List<Task> findByUserIdAndDueDateBetween(UUID userId, LocalDateTime dueDateAfter, LocalDateTime dueDateBefore);
+    @Query("""
+            SELECT t.id AS id, t.dueDate AS dueDate FROM Task t
+            WHERE t.status = com.salah.taskmate.task.enums.TaskStatus.PENDING
+              AND t.recurrenceRule IS NULL
+              AND (t.dueDate, t.id) > (:dueDate, :id)
+              AND t.dueDate <= :until
+            ORDER BY t.dueDate ASC, t.id ASC
+            """)
+    List<TaskReminderCandidate> findReminderCandidates(
+            @Param("dueDate") LocalDateTime dueDate,
+            @Param("id") UUID id,
+            @Param("until") LocalDateTime until,
+            Limit limit);
 
-    UUID findByTitleAndUserId(String title, UUID userId);
+    @Query("""
+            SELECT t.id AS id, t.title AS title, t.dueDate AS dueDate, t.status AS status,
+                   u.id AS userId, u.email AS email, u.username AS username
+            FROM Task t JOIN t.user u
+            WHERE t.id IN :ids
+            """)
+    List<TaskReminderTarget> findReminderTargets(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,35 @@
+package com.salah.taskmate.task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for search results ordered by (rank DESC, id DESC).
+ */
+public record TaskSearchCursor(float rank, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskSearchCursor of(TaskSearchHit hit) {
+        return new TaskSearchCursor(hit.getRank(), hit.getId());
+    }
+
+    public String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new TaskSearchCursor(
+                    Float.parseFloat(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.salah.taskmate.task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TaskSearchHit {
+    UUID getId();
+    String getTitle();
+    LocalDateTime getDueDate();
+    String getStatus();
+    String getPriority();
+    Float getRank();
+    String getTitleHighlight();
+    String getContentHighlight();
+}
@@ -1,25 +1,72 @@
 package com.salah.taskmate.task;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.salah.taskmate.shared.api.CursorPage;
+import com.salah.taskmate.task.enums.TaskField;
+import com.salah.taskmate.task.enums.TaskFileFormat;
 import com.salah.taskmate.task.enums.TaskPriority;
 import com.salah.taskmate.task.enums.TaskStatus;
+import com.salah.taskmate.task.dto.BatchTaskResult;
+import com.salah.taskmate.task.dto.BulkTaskUpdateRequest;
+import com.salah.taskmate.task.dto.BulkTaskUpdateResponse;
+import com.salah.taskmate.task.dto.CalendarDayResponse;
+import com.salah.taskmate.task.dto.TaskImportResponse;
 import com.salah.taskmate.task.dto.TaskRequest;
 import com.salah.taskmate.task.dto.TaskResponse;
+import com.salah.taskmate.task.dto.TaskSearchResult;
+import com.salah.taskmate.task.dto.TaskChangesResponse;
+import com.salah.taskmate.task.dto.TaskStatsResponse;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TaskService {
     TaskResponse createTask(UUID userId, TaskRequest taskRequest);
-    TaskResponse updateTask(UUID taskId, UUID userId, TaskRequest taskRequest);
-    TaskResponse getTaskById(UUID taskId,  UUID userId);
-    Page<TaskResponse> getAllTasks(UUID userId, int  page, int size);
+    List<BatchTaskResult> createTasks(UUID userId, List<TaskRequest> taskRequests);
+    TaskResponse updateTask(UUID taskId, UUID userId, TaskRequest taskRequest, String ifMatch);
+    TaskResponse patchTask(UUID taskId, UUID userId, JsonNode mergePatch, String ifMatch);
+
+    TaskResponse patchOccurrence(UUID seriesId, UUID userId, LocalDateTime occurrenceDate, JsonNode mergePatch);
+    TaskResponse getTaskById(UUID taskId, UUID userId, boolean includeArchived);
+    Map<String, Object> getTaskById(UUID taskId, UUID userId, Set<TaskField> fields, boolean includeArchived);
+    String getTaskETag(UUID taskId, UUID userId, boolean includeArchived);
+    String getLatestTaskETag(UUID taskId, UUID userId);
+    String getAllTasksETag(UUID userId, boolean includeArchived);
+    String getTasksByDateETag(UUID userId, LocalDate date);
+    Page<TaskResponse> getAllTasks(UUID userId, TaskListQuery listQuery, int page, int size, boolean includeArchived);
+    Page<Map<String, Object>> getAllTasks(
+            UUID userId, TaskListQuery listQuery, int page, int size, Set<TaskField> fields, boolean includeArchived);
+    CursorPage<TaskResponse> getTasksByCursor(UUID userId, String cursor, int size, boolean includeArchived);
+    CursorPage<Map<String, Object>> getTasksByCursor(
+            UUID userId, String cursor, int size, Set<TaskField> fields, boolean includeArchived);
+    CursorPage<TaskSearchResult> searchTasks(UUID userId, String query, String cursor, int size, boolean includeArchived);
     void deleteTask(UUID taskId, UUID userId);
     TaskResponse changeStatus(UUID taskId, UUID userId, TaskStatus taskStatus);
     TaskResponse changePriority(UUID taskId, UUID userId, TaskPriority taskPriority);
     TaskResponse addCategories(UUID taskId, UUID userId, List<UUID> categoryIds);
     TaskResponse toggleFavorite(UUID taskId, UUID id);
+    BulkTaskUpdateResponse bulkChangeStatus(UUID userId, BulkTaskUpdateRequest request, TaskStatus taskStatus);
+    BulkTaskUpdateResponse bulkChangePriority(UUID userId, BulkTaskUpdateRequest request, TaskPriority taskPriority);
+    BulkTaskUpdateResponse bulkSetFavorite(UUID userId, BulkTaskUpdateRequest request, boolean favorite);
     List<TaskResponse> getTasksByDate(UUID userId, LocalDate date);
+    List<Map<String, Object>> getTasksByDate(UUID userId, LocalDate date, Set<TaskField> fields);
+    List<CalendarDayResponse> getCalendar(UUID userId, LocalDate from, LocalDate to, boolean includeTasks);
+
+    TaskStatsResponse getStats(UUID userId);
+
+    TaskChangesResponse getChanges(UUID userId, String since, int size);
+
+    void exportTasks(UUID userId, TaskFileFormat format, boolean includeArchived, OutputStream outputStream)
+            throws IOException;
+
+    TaskImportResponse importTasks(UUID userId, TaskFileFormat format, InputStream inputStream) throws IOException;
     UUID getTaskByTitle(String naturalLanguageInput, UUID userId);
 }
@@ -1,46 +1,117 @@
 package com.salah.taskmate.task;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.salah.taskmate.category.Category;
 import com.salah.taskmate.category.CategoryService;
+import com.salah.taskmate.shared.api.CursorPage;
 import com.salah.taskmate.shared.exception.AiServiceException;
+import com.salah.taskmate.shared.exception.PreconditionFailedException;
+import com.salah.taskmate.shared.exception.RecurrenceExpansionException;
+import com.salah.taskmate.shared.exception.SyncCursorExpiredException;
+import com.salah.taskmate.shared.json.JsonMergePatch;
+import com.salah.taskmate.task.enums.TaskField;
+import com.salah.taskmate.task.enums.TaskFileFormat;
 import com.salah.taskmate.task.enums.TaskPriority;
 import com.salah.taskmate.task.enums.TaskStatus;
+import com.salah.taskmate.task.dto.BatchTaskResult;
+import com.salah.taskmate.task.dto.BulkTaskUpdateRequest;
+import com.salah.taskmate.task.dto.BulkTaskUpdateResponse;
+import com.salah.taskmate.task.dto.CalendarDayResponse;
+import com.salah.taskmate.task.dto.TaskChangesResponse;
+import com.salah.taskmate.task.dto.TaskImportError;
+import com.salah.taskmate.task.dto.TaskImportResponse;
+import com.salah.taskmate.task.dto.TaskSummaryResponse;
 import com.salah.taskmate.task.dto.TaskRequest;
 import com.salah.taskmate.task.dto.TaskResponse;
+import com.salah.taskmate.task.dto.TaskSearchResult;
+import com.salah.taskmate.task.dto.TaskStatsResponse;
 import com.salah.taskmate.user.User;
 import com.salah.taskmate.user.UserService;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Slf4j
 public class TaskServiceImpl implements  TaskService {
 
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final UserService userService;
     private final CategoryService categoryService;
+    private final Validator validator;
+    private final TaskTitleIndex taskTitleIndex;
+    private final TaskStatsTracker taskStatsTracker;
+    private final TaskExportWriter taskExportWriter;
+    private final EntityManager entityManager;
+    private final TaskImportReader taskImportReader;
+    private final TaskImportLoader taskImportLoader;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskTombstoneCompactor taskTombstoneCompactor;
+    private final TaskOccurrenceExpander taskOccurrenceExpander;
+    private final TaskArchiveFilter taskArchiveFilter;
 
     private static final String TASK_NOT_FOUND_MESSAGE = "Task with id %s not found";
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final double MIN_TITLE_MATCH_CONFIDENCE = 0.25;
+    private static final int MAX_CALENDAR_RANGE_DAYS = 62;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int EXPORT_CHUNK_SIZE = 50;
+    private static final int IMPORT_CHUNK_SIZE = MAX_BATCH_SIZE;
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 1000;
+    private static final int IMPORT_PROGRESS_INTERVAL = 10_000;
+    private static final int MAX_CHANGES_PAGE_SIZE = 500;
+    private static final int MAX_BULK_RETURNED_TASKS = 1000;
 
     @Override
     public TaskResponse createTask(UUID userId, TaskRequest taskRequest) {
 
         taskRequest.setTitle(normalizeText(taskRequest.getTitle()));
         taskRequest.setContent(normalizeText(taskRequest.getContent()));
+        taskRequest.setRecurrenceRule(normalizeRecurrenceRule(taskRequest.getRecurrenceRule()));
 
         if (taskRequest.getDueDate() != null && taskRequest.getDueDate().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Due date must be in the future");
@@ -49,81 +120,374 @@ public class TaskServiceImpl implements  TaskService {
         User user = userService.findUserById(userId);
 
         List<Category> categories = taskRequest.getCategoryIds() != null
-                ? categoryService.getCategoriesByIdsAndUserId(taskRequest.getCategoryIds(), userId)
+                ? categoryService.getOwnedCategories(taskRequest.getCategoryIds(), userId)
                 : List.of();
 
         Task task = taskMapper.toEntity(taskRequest, user, categories);
 
         Task savedTask = taskRepository.save(task);
+        taskTitleIndex.invalidate(userId);
+        taskStatsTracker.recordCreated(userId, TaskStatsSnapshot.of(savedTask));
 
-        return taskMapper.toResponse(savedTask);
+        TaskResponse response = taskMapper.toResponse(savedTask);
+        eventPublisher.publishEvent(TaskChangeEvent.created(userId, response));
+        return response;
+    }
+
+    @Override
+    public List<BatchTaskResult> createTasks(UUID userId, List<TaskRequest> taskRequests) {
+        if (taskRequests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch may contain at most " + MAX_BATCH_SIZE + " tasks");
+        }
+
+        User user = userService.findUserById(userId);
+
+        Set<UUID> referencedCategoryIds = new HashSet<>();
+        taskRequests.stream()
+                .filter(Objects::nonNull)
+                .map(TaskRequest::getCategoryIds)
+                .filter(Objects::nonNull)
+                .forEach(referencedCategoryIds::addAll);
+        Map<UUID, Category> ownedCategories = categoryService.getOwnedCategoriesByIds(referencedCategoryIds, userId);
+
+        BatchTaskResult[] results = new BatchTaskResult[taskRequests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Task> acceptedTasks = new ArrayList<>();
+
+        for (int i = 0; i < taskRequests.size(); i++) {
+            TaskRequest taskRequest = taskRequests.get(i);
+            Map<String, String> errors = validateBatchItem(taskRequest, ownedCategories.keySet());
+
+            if (!errors.isEmpty()) {
+                results[i] = BatchTaskResult.builder().index(i).success(false).errors(errors).build();
+                continue;
+            }
+
+            List<Category> categories = taskRequest.getCategoryIds() != null
+                    ? taskRequest.getCategoryIds().stream().map(ownedCategories::get).toList()
+                    : List.of();
+
+            acceptedIndexes.add(i);
+            acceptedTasks.add(taskMapper.toEntity(taskRequest, user, categories));
+        }
+
+        List<Task> savedTasks = taskRepository.saveAll(acceptedTasks);
+        if (!savedTasks.isEmpty()) {
+            taskTitleIndex.invalidate(userId);
+        }
+        savedTasks.forEach(savedTask -> taskStatsTracker.recordCreated(userId, TaskStatsSnapshot.of(savedTask)));
+
+        for (int i = 0; i < savedTasks.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            TaskResponse response = taskMapper.toResponse(savedTasks.get(i));
+            eventPublisher.publishEvent(TaskChangeEvent.created(userId, response));
+            results[index] = BatchTaskResult.builder()
+                    .index(index)
+                    .success(true)
+                    .task(response)
+                    .build();
+        }
+
+        return List.of(results);
     }
 
 
     @Override
-    public TaskResponse updateTask(UUID taskId, UUID userId, TaskRequest taskRequest) {
+    public TaskResponse updateTask(UUID taskId, UUID userId, TaskRequest taskRequest, String ifMatch) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
+        checkIfMatch(task, ifMatch);
 
         if (taskRequest.getDueDate() != null && taskRequest.getDueDate().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Due date must be in the future");
         }
 
+        TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
         task.setTitle(normalizeText(taskRequest.getTitle()));
         task.setContent(normalizeText(taskRequest.getContent()));
         task.setDueDate(taskRequest.getDueDate());
         task.setPriority(taskRequest.getPriority());
         task.setStatus(taskRequest.getStatus());
         task.setFavorite(taskRequest.isFavorite());
+        task.setRecurrenceRule(recurrenceRuleFor(task, taskRequest.getRecurrenceRule()));
 
         if (taskRequest.getCategoryIds() != null) {
-            List<Category> categories = categoryService.getCategoriesByIdsAndUserId(taskRequest.getCategoryIds(), userId);
+            List<Category> categories = categoryService.getOwnedCategories(taskRequest.getCategoryIds(), userId);
             task.getCategories().clear();
             task.getCategories().addAll(categories);
+            task.setUpdatedAt(LocalDateTime.now());
         }
 
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskTitleIndex.invalidate(userId);
+        taskStatsTracker.recordUpdated(userId, before, TaskStatsSnapshot.of(updatedTask));
 
-        return taskMapper.toResponse(updatedTask);
+        return publishUpdated(userId, updatedTask);
     }
 
     @Override
-    public TaskResponse getTaskById(UUID taskId, UUID userId) {
+    public TaskResponse patchTask(UUID taskId, UUID userId, JsonNode mergePatch, String ifMatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
-        updateTaskStatusIfMissed(task);
+        checkIfMatch(task, ifMatch);
+
+        TaskRequest patched;
+        try {
+            JsonNode current = objectMapper.valueToTree(taskMapper.toRequest(task));
+            patched = objectMapper.treeToValue(JsonMergePatch.apply(current, mergePatch), TaskRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getOriginalMessage());
+        }
+
+        patched.setTitle(normalizeText(patched.getTitle()));
+        patched.setContent(normalizeText(patched.getContent()));
+
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        if (mergePatch.has("dueDate") && patched.getDueDate().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Due date must be in the future");
+        }
+
+        TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
+        task.setTitle(patched.getTitle());
+        task.setContent(patched.getContent());
+        task.setDueDate(patched.getDueDate());
+        task.setPriority(patched.getPriority());
+        task.setStatus(patched.getStatus());
+        task.setFavorite(patched.isFavorite());
+        task.setRecurrenceRule(recurrenceRuleFor(task, patched.getRecurrenceRule()));
+
+        if (mergePatch.has("categoryIds")) {
+            List<UUID> categoryIds = patched.getCategoryIds() != null ? patched.getCategoryIds() : List.of();
+            Set<UUID> currentCategoryIds = task.getCategories().stream().map(Category::getId).collect(Collectors.toSet());
+            if (!currentCategoryIds.equals(new HashSet<>(categoryIds))) {
+                List<Category> categories = categoryIds.isEmpty()
+                        ? List.of()
+                        : categoryService.getOwnedCategories(categoryIds, userId);
+                task.getCategories().clear();
+                task.getCategories().addAll(categories);
+                task.setUpdatedAt(LocalDateTime.now());
+            }
+        }
+
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        if (mergePatch.has("title")) {
+            taskTitleIndex.invalidate(userId);
+        }
+        taskStatsTracker.recordUpdated(userId, before, TaskStatsSnapshot.of(updatedTask));
+
+        return publishUpdated(userId, updatedTask);
+    }
+
+    @Override
+    public TaskResponse patchOccurrence(UUID seriesId, UUID userId, LocalDateTime occurrenceDate, JsonNode mergePatch) {
+        Task occurrence = taskArchiveFilter.read(true,
+                        () -> taskRepository.findBySeriesIdAndOccurrenceDateAndUserId(seriesId, occurrenceDate, userId))
+                .orElseGet(() -> materializeOccurrence(seriesId, userId, occurrenceDate));
+        if (occurrence.isArchived()) {
+            throw new EntityNotFoundException("Occurrence at " + occurrenceDate + " of task " + seriesId + " is archived");
+        }
+        return patchTask(occurrence.getId(), userId, mergePatch, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(UUID taskId, UUID userId, boolean includeArchived) {
+        Task task = taskArchiveFilter.read(includeArchived, () -> taskRepository.findByIdAndUserId(taskId, userId))
+                .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
         return taskMapper.toResponse(task);
     }
 
     @Override
-    public Page<TaskResponse> getAllTasks(UUID userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Task> tasks = taskRepository.findAllByUserId(userId, pageable);
-        tasks.forEach(this::updateTaskStatusIfMissed);
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTaskById(UUID taskId, UUID userId, Set<TaskField> fields, boolean includeArchived) {
+        Map<String, Object> row = taskArchiveFilter.read(includeArchived,
+                        () -> taskRepository.findProjectedById(taskId, userId, fields))
+                .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
+        return taskMapper.toView(row, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getTaskETag(UUID taskId, UUID userId, boolean includeArchived) {
+        return taskArchiveFilter.read(includeArchived,
+                () -> taskRepository.findSliceVersionByIdAndUserId(taskId, userId)).toETag();
+    }
+
+    // read on the primary, so the ETag returned by a write reflects that write even while the replica lags
+    @Override
+    public String getLatestTaskETag(UUID taskId, UUID userId) {
+        return taskRepository.findSliceVersionByIdAndUserId(taskId, userId).toETag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getAllTasksETag(UUID userId, boolean includeArchived) {
+        return taskArchiveFilter.read(includeArchived, () -> taskRepository.findSliceVersionByUserId(userId)).toETag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getTasksByDateETag(UUID userId, LocalDate date) {
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+        return taskRepository.findSliceVersionByUserIdAndDueDateBetween(userId, startOfDay, endOfDay)
+                .plus(TaskSliceVersion.of(taskOccurrenceExpander.expand(userId, startOfDay, endOfDay)))
+                .toETag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getAllTasks(
+            UUID userId, TaskListQuery listQuery, int page, int size, boolean includeArchived) {
+        Pageable pageable = PageRequest.of(page, size, listQuery.toSort());
+        Specification<Task> spec = listQuery.toSpecification(userId);
+        Page<Task> tasks = taskArchiveFilter.read(includeArchived, () -> taskRepository.findAll(spec, pageable));
         return tasks.map(taskMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllTasks(
+            UUID userId, TaskListQuery listQuery, int page, int size, Set<TaskField> fields, boolean includeArchived) {
+        Pageable pageable = PageRequest.of(page, size, listQuery.toSort());
+        Specification<Task> spec = listQuery.toSpecification(userId);
+        return taskArchiveFilter.read(includeArchived, () -> {
+            List<Map<String, Object>> rows = taskRepository.findProjected(spec, fields, pageable).stream()
+                    .map(row -> taskMapper.toView(row, fields))
+                    .toList();
+            return PageableExecutionUtils.getPage(rows, pageable, () -> taskRepository.count(spec));
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getTasksByCursor(UUID userId, String cursor, int size, boolean includeArchived) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        TaskCursor position = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+
+        List<Task> tasks = taskArchiveFilter.read(includeArchived, () -> position == null
+                ? taskRepository.findCursorPageByUserId(userId, limit)
+                : taskRepository.findCursorPageByUserIdAfter(userId, position.dueDate(), position.id(), limit));
+
+        boolean hasNext = tasks.size() > pageSize;
+        List<Task> pageContent = hasNext ? tasks.subList(0, pageSize) : tasks;
+
+        String nextCursor = hasNext ? TaskCursor.of(pageContent.get(pageSize - 1)).encode() : null;
+
+        return CursorPage.<TaskResponse>builder()
+                .content(pageContent.stream().map(taskMapper::toResponse).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(pageSize)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getTasksByCursor(
+            UUID userId, String cursor, int size, Set<TaskField> fields, boolean includeArchived) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        TaskCursor position = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+
+        List<Map<String, Object>> rows = taskArchiveFilter.read(includeArchived, () -> taskRepository.findProjectedCursorPage(
+                userId,
+                fields,
+                position != null ? position.dueDate() : null,
+                position != null ? position.id() : null,
+                pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Map<String, Object>> pageContent = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Map<String, Object> last = pageContent.get(pageSize - 1);
+            nextCursor = new TaskCursor(
+                    (LocalDateTime) last.get(TaskField.DUE_DATE.getJsonName()),
+                    (UUID) last.get(TaskField.ID.getJsonName())).encode();
+        }
+
+        return CursorPage.<Map<String, Object>>builder()
+                .content(pageContent.stream().map(row -> taskMapper.toView(row, fields)).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(pageSize)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSearchResult> searchTasks(
+            UUID userId, String query, String cursor, int size, boolean includeArchived) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        String normalizedQuery = normalizeText(query);
+
+        List<Boolean> archived = includeArchived ? List.of(false, true) : List.of(false);
+
+        List<TaskSearchHit> hits;
+        if (cursor == null || cursor.isBlank()) {
+            hits = taskRepository.search(userId, archived, normalizedQuery, pageSize + 1);
+        } else {
+            TaskSearchCursor position = TaskSearchCursor.decode(cursor);
+            hits = taskRepository.searchAfter(
+                    userId, archived, normalizedQuery, position.rank(), position.id(), pageSize + 1);
+        }
+
+        boolean hasNext = hits.size() > pageSize;
+        List<TaskSearchHit> pageContent = hasNext ? hits.subList(0, pageSize) : hits;
+
+        String nextCursor = hasNext ? TaskSearchCursor.of(pageContent.get(pageSize - 1)).encode() : null;
+
+        return CursorPage.<TaskSearchResult>builder()
+                .content(pageContent.stream().map(taskMapper::toSearchResult).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(pageSize)
+                .build();
+    }
+
     @Override
     public void deleteTask(UUID taskId, UUID userId) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
-        taskRepository.delete(task);
+        if (task.isRecurring()) {
+            taskRepository.findAllBySeriesIdAndUserId(taskId, userId).forEach(occurrence -> delete(occurrence, userId));
+        }
+        delete(task, userId);
+        taskTitleIndex.invalidate(userId);
     }
 
     @Override
     public TaskResponse changeStatus(UUID taskId, UUID userId, TaskStatus taskStatus) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
+        TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
         task.setStatus(taskStatus);
-        return  taskMapper.toResponse(taskRepository.save(task));
+        Task updatedTask = taskRepository.save(task);
+        taskStatsTracker.recordUpdated(userId, before, TaskStatsSnapshot.of(updatedTask));
+        return publishUpdated(userId, updatedTask);
     }
 
     @Override
     public TaskResponse changePriority(UUID taskId, UUID userId, TaskPriority taskPriority) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
+        TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
         task.setPriority(taskPriority);
-        return taskMapper.toResponse(taskRepository.save(task));
+        Task updatedTask = taskRepository.save(task);
+        taskStatsTracker.recordUpdated(userId, before, TaskStatsSnapshot.of(updatedTask));
+        return publishUpdated(userId, updatedTask);
     }
 
     @Override
@@ -131,9 +495,13 @@ public class TaskServiceImpl implements  TaskService {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
 
-        List<Category> categories = categoryService.getCategoriesByIdsAndUserId(categoryIds, userId);
+        List<Category> categories = categoryService.getOwnedCategories(categoryIds, userId);
+        TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
         task.getCategories().addAll(categories);
-        return taskMapper.toResponse(taskRepository.save(task));
+        task.setUpdatedAt(LocalDateTime.now());
+        Task updatedTask = taskRepository.save(task);
+        taskStatsTracker.recordUpdated(userId, before, TaskStatsSnapshot.of(updatedTask));
+        return publishUpdated(userId, updatedTask);
     }
 
     @Override
@@ -141,48 +509,441 @@ public class TaskServiceImpl implements  TaskService {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + taskId));
 
+        TaskStatsSnapshot before = TaskStatsSnapshot.of(task);
         task.setFavorite(!task.isFavorite());
-        return taskMapper.toResponse(taskRepository.save(task));
+        Task updatedTask = taskRepository.save(task);
+        taskStatsTracker.recordUpdated(userId, before, TaskStatsSnapshot.of(updatedTask));
+        return publishUpdated(userId, updatedTask);
+    }
+
+    @Override
+    public BulkTaskUpdateResponse bulkChangeStatus(UUID userId, BulkTaskUpdateRequest request, TaskStatus taskStatus) {
+        return bulkUpdate(userId, request, "status", taskStatus);
+    }
+
+    @Override
+    public BulkTaskUpdateResponse bulkChangePriority(UUID userId, BulkTaskUpdateRequest request, TaskPriority taskPriority) {
+        return bulkUpdate(userId, request, "priority", taskPriority);
     }
 
     @Override
+    public BulkTaskUpdateResponse bulkSetFavorite(UUID userId, BulkTaskUpdateRequest request, boolean favorite) {
+        return bulkUpdate(userId, request, "isFavorite", favorite);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByDate(UUID userId, LocalDate date) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
 
-        List<Task> tasks = taskRepository.findByUserIdAndDueDateBetween(userId, startOfDay, endOfDay);
-        return tasks.stream().map(taskMapper::toResponse).collect(Collectors.toList());
+        List<TaskResponse> tasks = taskRepository.findByUserIdAndRecurrenceRuleIsNullAndDueDateBetween(userId, startOfDay, endOfDay)
+                .stream()
+                .map(taskMapper::toResponse)
+                .collect(Collectors.toList());
+        taskOccurrenceExpander.expand(userId, startOfDay, endOfDay).occurrences()
+                .forEach(occurrence -> tasks.add(taskMapper.toOccurrenceResponse(occurrence)));
+        tasks.sort(Comparator.comparing(TaskResponse::getDueDate));
+        return tasks;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTasksByDate(UUID userId, LocalDate date, Set<TaskField> fields) {
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+
+        // due dates are selected even when not requested, to merge both lists in the order of the full representation
+        Set<TaskField> withDueDate = EnumSet.copyOf(fields);
+        withDueDate.add(TaskField.DUE_DATE);
+        List<Map<String, Object>> rows = taskRepository.findProjectedByDueDateBetween(userId, withDueDate, startOfDay, endOfDay);
+        List<TaskOccurrence> occurrences = taskOccurrenceExpander.expand(userId, startOfDay, endOfDay).occurrences();
+
+        List<Map<String, Object>> tasks = new ArrayList<>(rows.size() + occurrences.size());
+        int row = 0;
+        int occurrence = 0;
+        while (row < rows.size() && occurrence < occurrences.size()) {
+            LocalDateTime rowDueDate = (LocalDateTime) rows.get(row).get(TaskField.DUE_DATE.getJsonName());
+            if (rowDueDate.isAfter(occurrences.get(occurrence).dueDate())) {
+                tasks.add(taskMapper.toOccurrenceView(occurrences.get(occurrence++), fields));
+            } else {
+                tasks.add(taskMapper.toView(rows.get(row++), fields));
+            }
+        }
+        rows.subList(row, rows.size()).forEach(remaining -> tasks.add(taskMapper.toView(remaining, fields)));
+        occurrences.subList(occurrence, occurrences.size())
+                .forEach(remaining -> tasks.add(taskMapper.toOccurrenceView(remaining, fields)));
+        return tasks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CalendarDayResponse> getCalendar(UUID userId, LocalDate from, LocalDate to, boolean includeTasks) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Calendar range end must not be before its start");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_RANGE_DAYS) {
+            throw new IllegalArgumentException("Calendar range cannot exceed " + MAX_CALENDAR_RANGE_DAYS + " days");
+        }
+
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+
+        List<TaskOccurrence> occurrences = taskOccurrenceExpander.expand(userId, rangeStart, rangeEnd).occurrences();
+        List<TaskSummaryResponse> summaries = new ArrayList<>();
+        List<TaskDayCount> dayCounts = new ArrayList<>();
+        if (includeTasks) {
+            // counted from the listed rows: a second read could see a write the count missed, and list a task
+            // under a day that was never counted
+            summaries.addAll(taskRepository.findSummariesInRange(userId, rangeStart, rangeEnd));
+            occurrences.forEach(occurrence -> summaries.add(taskMapper.toOccurrenceSummary(occurrence)));
+            summaries.sort(Comparator.comparing(TaskSummaryResponse::getDueDate));
+            for (TaskSummaryResponse summary : summaries) {
+                dayCounts.add(new TaskDayCount(summary.getDueDate().toLocalDate(), summary.getStatus(), summary.getPriority(), 1));
+            }
+        } else {
+            dayCounts.addAll(taskRepository.countByDay(userId, rangeStart, rangeEnd));
+            for (TaskOccurrence occurrence : occurrences) {
+                TaskSummaryResponse summary = taskMapper.toOccurrenceSummary(occurrence);
+                dayCounts.add(new TaskDayCount(summary.getDueDate().toLocalDate(), summary.getStatus(), summary.getPriority(), 1));
+            }
+        }
+
+        Map<LocalDate, CalendarDayResponse> days = new TreeMap<>();
+        for (TaskDayCount dayCount : dayCounts) {
+            CalendarDayResponse day = days.computeIfAbsent(dayCount.day(), date -> CalendarDayResponse.builder()
+                    .date(date)
+                    .byStatus(new EnumMap<>(TaskStatus.class))
+                    .byPriority(new EnumMap<>(TaskPriority.class))
+                    .build());
+            day.setTotal(day.getTotal() + dayCount.count());
+            day.getByStatus().merge(dayCount.status(), dayCount.count(), Long::sum);
+            day.getByPriority().merge(dayCount.priority(), dayCount.count(), Long::sum);
+        }
+
+        for (TaskSummaryResponse summary : summaries) {
+            CalendarDayResponse day = days.get(summary.getDueDate().toLocalDate());
+            if (day.getTasks() == null) {
+                day.setTasks(new ArrayList<>());
+            }
+            day.getTasks().add(summary);
+        }
+
+        return new ArrayList<>(days.values());
+    }
+
+    // stays on the primary: counters seeded from a lagging replica would miss deltas already applied
+    @Override
+    public TaskStatsResponse getStats(UUID userId) {
+        return taskStatsTracker.getStats(userId);
+    }
+
+    // stays on the primary: the cursor moves past upTo, so anything a lagging replica hasn't replayed would be skipped
+    @Override
+    public TaskChangesResponse getChanges(UUID userId, String since, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CHANGES_PAGE_SIZE));
+        boolean resuming = since != null && !since.isBlank();
+        TaskChangeCursor from = resuming ? TaskChangeCursor.decode(since) : TaskChangeCursor.START;
+        if (resuming && from.issuedAt().isBefore(taskTombstoneCompactor.retentionHorizon())) {
+            throw new SyncCursorExpiredException("Sync cursor has expired, a full resync is required");
+        }
+
+        // taken before the reads, so every row stamped below it is committed and visible to them
+        LocalDateTime now = LocalDateTime.now();
+        long horizon = taskRepository.findChangeHorizon();
+        Limit limit = Limit.of(pageSize + 1);
+        List<Task> changed = taskRepository.findChangedSince(userId, from.changeXid(), from.id(), horizon, limit);
+        List<TaskTombstone> deleted = taskTombstoneRepository.findChangedSince(userId, from.changeXid(), from.id(), horizon, limit);
+
+        List<TaskResponse> tasks = new ArrayList<>();
+        List<UUID> deletedIds = new ArrayList<>();
+        TaskChangeCursor last = from;
+        int taskIndex = 0;
+        int tombstoneIndex = 0;
+        while (tasks.size() + deletedIds.size() < pageSize
+                && (taskIndex < changed.size() || tombstoneIndex < deleted.size())) {
+            TaskChangeCursor nextTask = taskIndex < changed.size()
+                    ? new TaskChangeCursor(changed.get(taskIndex).getChangeXid(), changed.get(taskIndex).getId(), now)
+                    : null;
+            TaskChangeCursor nextTombstone = tombstoneIndex < deleted.size()
+                    ? new TaskChangeCursor(deleted.get(tombstoneIndex).getChangeXid(), deleted.get(tombstoneIndex).getTaskId(), now)
+                    : null;
+
+            if (nextTombstone == null || (nextTask != null && nextTask.compareTo(nextTombstone) < 0)) {
+                tasks.add(taskMapper.toResponse(changed.get(taskIndex++)));
+                last = nextTask;
+            } else {
+                deletedIds.add(deleted.get(tombstoneIndex++).getTaskId());
+                last = nextTombstone;
+            }
+        }
+
+        boolean hasMore = taskIndex < changed.size() || tombstoneIndex < deleted.size();
+        TaskChangeCursor next = hasMore ? last : TaskChangeCursor.endOf(horizon - 1, now);
+        if (next.compareTo(from) < 0) {
+            next = new TaskChangeCursor(from.changeXid(), from.id(), now);
+        }
+
+        return TaskChangesResponse.builder()
+                .tasks(tasks)
+                .deletedIds(deletedIds)
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(UUID userId, TaskFileFormat format, boolean includeArchived, OutputStream outputStream)
+            throws IOException {
+        try (Stream<Task> tasks = taskArchiveFilter.read(includeArchived, () -> taskRepository.streamAllByUserId(userId));
+             JsonGenerator generator = taskExportWriter.open(format, outputStream)) {
+            List<Task> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            for (Iterator<Task> iterator = tasks.iterator(); iterator.hasNext(); ) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeExportChunk(format, generator, chunk);
+                }
+            }
+            writeExportChunk(format, generator, chunk);
+        }
+    }
+
+    @Override
+    public TaskImportResponse importTasks(UUID userId, TaskFileFormat format, InputStream inputStream) throws IOException {
+        TaskImportResponse response = TaskImportResponse.builder().errors(new ArrayList<>()).build();
+
+        int imported = taskImportLoader.load(userId, LocalDateTime.now(), sink -> {
+            List<TaskImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            taskImportReader.read(format, inputStream, row -> {
+                chunk.add(row);
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    stageImportChunk(userId, chunk, sink, response);
+                    chunk.clear();
+                }
+            });
+            stageImportChunk(userId, chunk, sink, response);
+        });
+
+        response.setImported(imported);
+        if (imported > 0) {
+            taskTitleIndex.invalidate(userId);
+            taskStatsTracker.invalidate(userId);
+            eventPublisher.publishEvent(TaskChangeEvent.resync(userId));
+        }
+        log.info("Task import for user {} finished: {} imported, {} rejected",
+                userId, imported, response.getFailed());
+        return response;
+    }
+
+    // stays on the primary, as it may fill the title index
     @Override
     public UUID getTaskByTitle(String naturalLanguageInput, UUID userId) {
         if (naturalLanguageInput == null || naturalLanguageInput.isBlank()) {
             throw new AiServiceException("Task title cannot be empty", null);
         }
         String cleanedTitle = naturalLanguageInput.trim();
+        TitleMatch match = taskTitleIndex.resolve(userId, cleanedTitle)
+                .filter(candidate -> candidate.confidence() >= MIN_TITLE_MATCH_CONFIDENCE)
+                .orElseThrow(() -> new AiServiceException(
+                        "No task found with title: " + cleanedTitle + " for user " + userId, null));
+
+        log.debug("Resolved '{}' to task {} ('{}') with confidence {}",
+                cleanedTitle, match.taskId(), match.title(), match.confidence());
+        return match.taskId();
+    }
+
+    private BulkTaskUpdateResponse bulkUpdate(UUID userId, BulkTaskUpdateRequest request, String attribute, Object value) {
+        if (!request.hasSelection()) {
+            throw new IllegalArgumentException("Bulk updates require task ids or at least one filter");
+        }
+        taskStatsTracker.invalidate(userId);
+
+        if (!request.isReturnTasks()) {
+            int affected = taskRepository.updateMatching(userId, request, attribute, value);
+            if (affected > 0) {
+                eventPublisher.publishEvent(TaskChangeEvent.resync(userId));
+            }
+            return BulkTaskUpdateResponse.builder().affected(affected).build();
+        }
+
+        // every returned task is loaded and published, so a filter-only selection must not be able to match everything
+        List<UUID> matchingIds = taskRepository.findIdsMatching(userId, request, MAX_BULK_RETURNED_TASKS + 1);
+        if (matchingIds.size() > MAX_BULK_RETURNED_TASKS) {
+            throw new IllegalArgumentException("Bulk updates returning tasks can match at most " + MAX_BULK_RETURNED_TASKS
+                    + " tasks; narrow the selection or set returnTasks to false");
+        }
+        if (matchingIds.isEmpty()) {
+            return BulkTaskUpdateResponse.builder().affected(0).tasks(List.of()).build();
+        }
+
+        BulkTaskUpdateRequest byIds = BulkTaskUpdateRequest.builder().taskIds(matchingIds).build();
+        int affected = taskRepository.updateMatching(userId, byIds, attribute, value);
+        List<TaskResponse> tasks = taskRepository.findAllByIdInAndUserId(matchingIds, userId).stream()
+                .map(task -> publishUpdated(userId, task))
+                .toList();
+
+        return BulkTaskUpdateResponse.builder().affected(affected).tasks(tasks).build();
+    }
+
+    private TaskResponse publishUpdated(UUID userId, Task task) {
+        TaskResponse response = taskMapper.toResponse(task);
+        eventPublisher.publishEvent(TaskChangeEvent.updated(userId, response));
+        return response;
+    }
+
+    private void writeExportChunk(TaskFileFormat format, JsonGenerator generator, List<Task> chunk) throws IOException {
+        for (Task task : chunk) {
+            taskExportWriter.write(format, generator, taskMapper.toExportRow(task));
+        }
+        generator.flush();
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private void checkIfMatch(Task task, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        String currentETag = TaskSliceVersion.of(task).toETag();
+        boolean matches = Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(currentETag));
+        if (!matches) {
+            throw new PreconditionFailedException("Task " + task.getId() + " has been modified");
+        }
+    }
+
+    // ownership is read from the database per chunk: a category deleted since the cache was filled is one rejected
+    // row instead of a foreign key violation that aborts the whole import
+    private void stageImportChunk(UUID userId, List<TaskImportRow> chunk, TaskImportLoader.StagingSink sink,
+                                  TaskImportResponse response) throws IOException {
+        Set<UUID> referencedCategoryIds = new HashSet<>();
+        chunk.stream()
+                .map(TaskImportRow::request)
+                .filter(Objects::nonNull)
+                .map(TaskRequest::getCategoryIds)
+                .filter(Objects::nonNull)
+                .forEach(referencedCategoryIds::addAll);
+        Set<UUID> ownedCategoryIds = categoryService.getOwnedCategoriesByIds(referencedCategoryIds, userId).keySet();
+
+        List<TaskRequest> valid = new ArrayList<>(chunk.size());
+        for (TaskImportRow row : chunk) {
+            response.setProcessed(response.getProcessed() + 1);
+
+            Map<String, String> errors = row.parseError() != null
+                    ? Map.of("row", row.parseError())
+                    : validateBatchItem(row.request(), ownedCategoryIds);
+            if (errors.isEmpty()) {
+                valid.add(row.request());
+            } else {
+                recordImportError(response, row.rowNumber(), errors);
+            }
+
+            if (response.getProcessed() % IMPORT_PROGRESS_INTERVAL == 0) {
+                log.info("Task import for user {}: {} row(s) processed, {} rejected",
+                        userId, response.getProcessed(), response.getFailed());
+            }
+        }
+        sink.addAll(valid);
+    }
+
+    private void recordImportError(TaskImportResponse response, long rowNumber, Map<String, String> errors) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < MAX_REPORTED_IMPORT_ERRORS) {
+            response.getErrors().add(TaskImportError.builder().row(rowNumber).errors(errors).build());
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+
+    private Map<String, String> validateBatchItem(TaskRequest taskRequest, Set<UUID> ownedCategoryIds) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (taskRequest == null) {
+            errors.put("task", "Task is required");
+            return errors;
+        }
+
+        taskRequest.setTitle(normalizeText(taskRequest.getTitle()));
+        taskRequest.setContent(normalizeText(taskRequest.getContent()));
+
+        for (ConstraintViolation<TaskRequest> violation : validator.validate(taskRequest)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+
+        if (taskRequest.getDueDate() != null && taskRequest.getDueDate().isBefore(LocalDateTime.now())) {
+            errors.putIfAbsent("dueDate", "Due date must be in the future");
+        }
+
+        if (taskRequest.getCategoryIds() != null
+                && !ownedCategoryIds.containsAll(taskRequest.getCategoryIds())) {
+            errors.put("categoryIds", "One or more categories do not belong to this user");
+        }
+
         try {
-            return Optional.ofNullable(taskRepository.findByTitleAndUserId(cleanedTitle, userId))
-                    .orElseThrow(() -> new AiServiceException(
-                            "No task found with title: " + cleanedTitle + " for user " + userId, null));
-        } catch (Exception e) {
-            throw new AiServiceException("Failed to retrieve task by title", e);
+            taskRequest.setRecurrenceRule(normalizeRecurrenceRule(taskRequest.getRecurrenceRule()));
+            // the import loader derives the series end itself, so a rule that cannot expand is rejected per row here
+            if (taskRequest.getRecurrenceRule() != null && taskRequest.getDueDate() != null) {
+                RecurrenceRule.parse(taskRequest.getRecurrenceRule()).lastOccurrence(taskRequest.getDueDate());
+            }
+        } catch (IllegalArgumentException | RecurrenceExpansionException e) {
+            errors.put("recurrenceRule", e.getMessage());
         }
+
+        return errors;
     }
 
-    private String normalizeText(String text) {
-        if (text == null) return null;
-        return text.trim().replaceAll("\\s+", " ");
+    private Task materializeOccurrence(UUID seriesId, UUID userId, LocalDateTime occurrenceDate) {
+        Task series = taskRepository.findByIdAndUserId(seriesId, userId)
+                .orElseThrow(() -> new EntityNotFoundException(TASK_NOT_FOUND_MESSAGE + seriesId));
+        if (!series.isRecurring()
+                || !RecurrenceRule.parse(series.getRecurrenceRule()).occursAt(series.getDueDate(), occurrenceDate)) {
+            throw new EntityNotFoundException("Task " + seriesId + " has no occurrence at " + occurrenceDate);
+        }
+
+        Task occurrence = taskRepository.saveAndFlush(Task.builder()
+                .title(series.getTitle())
+                .content(series.getContent())
+                .dueDate(occurrenceDate)
+                .status(TaskStatus.PENDING)
+                .priority(series.getPriority())
+                .isFavorite(series.isFavorite())
+                .user(series.getUser())
+                .categories(new HashSet<>(series.getCategories()))
+                .seriesId(seriesId)
+                .occurrenceDate(occurrenceDate)
+                .build());
+        taskTitleIndex.invalidate(userId);
+        taskStatsTracker.recordCreated(userId, TaskStatsSnapshot.of(occurrence));
+        return occurrence;
+    }
+
+    private void delete(Task task, UUID userId) {
+        taskRepository.delete(task);
+        taskTombstoneRepository.save(TaskTombstone.builder()
+                .taskId(task.getId())
+                .userId(userId)
+                .deletedAt(LocalDateTime.now())
+                .build());
+        taskStatsTracker.recordDeleted(userId, TaskStatsSnapshot.of(task));
+        eventPublisher.publishEvent(TaskChangeEvent.deleted(userId, task.getId()));
     }
 
-    private void updateTaskStatusIfMissed(Task task){
-        if (task.getDueDate() != null
-                && task.getDueDate().isBefore(LocalDateTime.now())
-                && task.getStatus() != TaskStatus.MISSED
-                && task.getStatus() != TaskStatus.DONE
-        ) {
-            task.setStatus(TaskStatus.MISSED);
-            taskRepository.save(task);
+    private String recurrenceRuleFor(Task task, String recurrenceRule) {
+        String normalized = normalizeRecurrenceRule(recurrenceRule);
+        if (normalized != null && task.getSeriesId() != null) {
+            throw new IllegalArgumentException("An occurrence of a recurring task cannot have its own recurrence rule");
         }
+        return normalized;
+    }
+
+    private String normalizeRecurrenceRule(String recurrenceRule) {
+        return recurrenceRule == null || recurrenceRule.isBlank() ? null : RecurrenceRule.parse(recurrenceRule).format();
+    }
+
+    private String normalizeText(String text) {
+        if (text == null) return null;
+        return text.trim().replaceAll("\\s+", " ");
     }
 
 
@@ -0,0 +1,51 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a set of tasks. Every write restamps the rows it touches with the id of its transaction, so
+ * the sum of those ids changes on any write, whenever it commits and whatever its timestamps, and on a delete
+ * followed by an insert that leaves the count unchanged. Tasks crossing their due date change the derived-overdue
+ * count.
+ */
+public record TaskSliceVersion(Long count, Long changeXidSum, Long overdue) {
+
+    public static TaskSliceVersion of(Task task) {
+        boolean overdue = task.getStatus() == TaskStatus.PENDING && task.getDueDate().isBefore(LocalDateTime.now());
+        return new TaskSliceVersion(1L, changeXidOf(task), overdue ? 1L : 0L);
+    }
+
+    /**
+     * Version of the occurrences expanded for a window: editing any series in range restamps it, and materializing
+     * or passing an occurrence changes the counts.
+     */
+    public static TaskSliceVersion of(TaskOccurrenceExpander.Expansion expansion) {
+        LocalDateTime now = LocalDateTime.now();
+        long changeXidSum = expansion.series().stream().mapToLong(TaskSliceVersion::changeXidOf).sum();
+        long overdue = expansion.occurrences().stream().filter(occurrence -> occurrence.dueDate().isBefore(now)).count();
+        return new TaskSliceVersion((long) expansion.occurrences().size(), changeXidSum, overdue);
+    }
+
+    public TaskSliceVersion plus(TaskSliceVersion other) {
+        return new TaskSliceVersion(
+                orZero(count) + orZero(other.count),
+                orZero(changeXidSum) + orZero(other.changeXidSum),
+                orZero(overdue) + orZero(other.overdue));
+    }
+
+    public String toETag() {
+        return "\"" + Long.toHexString(orZero(changeXidSum))
+                + "-" + Long.toHexString(orZero(count))
+                + "-" + Long.toHexString(orZero(overdue)) + "\"";
+    }
+
+    private static long changeXidOf(Task task) {
+        return orZero(task.getChangeXid());
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
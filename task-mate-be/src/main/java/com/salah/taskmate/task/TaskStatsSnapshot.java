@@ -0,0 +1,21 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.category.Category;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public record TaskStatsSnapshot(TaskStatus status, TaskPriority priority, boolean favorite, Set<UUID> categoryIds) {
+
+    public static TaskStatsSnapshot of(Task task) {
+        return new TaskStatsSnapshot(
+                task.getStatus(),
+                task.getPriority(),
+                task.isFavorite(),
+                task.getCategories().stream().map(Category::getId).collect(Collectors.toUnmodifiableSet())
+        );
+    }
+}
@@ -0,0 +1,183 @@
+package com.salah.taskmate.task;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salah.taskmate.task.dto.TaskStatsResponse;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Per-user task counters kept in memory and adjusted incrementally after each committed mutation.
+ * A periodic reconciliation against a GROUP BY query corrects any drift.
+ */
+@Component
+@Slf4j
+public class TaskStatsTracker {
+
+    private final TaskRepository taskRepository;
+    private final Cache<UUID, TaskCounters> counters;
+
+    public TaskStatsTracker(
+            TaskRepository taskRepository,
+            @Value("${task.stats.max-users:10000}") long maxUsers,
+            @Value("${task.stats.expire-after-access:PT1H}") Duration expireAfterAccess) {
+        this.taskRepository = taskRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public TaskStatsResponse getStats(UUID userId) {
+        return counters.get(userId, this::load).toResponse();
+    }
+
+    public void recordCreated(UUID userId, TaskStatsSnapshot created) {
+        afterCommit(userId, taskCounters -> taskCounters.apply(created, 1));
+    }
+
+    public void recordUpdated(UUID userId, TaskStatsSnapshot before, TaskStatsSnapshot after) {
+        if (before.equals(after)) {
+            return;
+        }
+        afterCommit(userId, taskCounters -> {
+            taskCounters.apply(before, -1);
+            taskCounters.apply(after, 1);
+        });
+    }
+
+    public void recordDeleted(UUID userId, TaskStatsSnapshot deleted) {
+        afterCommit(userId, taskCounters -> taskCounters.apply(deleted, -1));
+    }
+
+    public void recordStatusShift(UUID userId, TaskStatus from, TaskStatus to, long count) {
+        afterCommit(userId, taskCounters -> taskCounters.shiftStatus(from, to, count));
+    }
+
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    counters.invalidate(userId);
+                }
+            });
+        } else {
+            counters.invalidate(userId);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${task.stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${task.stats.reconcile-interval-ms:600000}"
+    )
+    public void reconcile() {
+        int reconciled = 0;
+        for (Map.Entry<UUID, TaskCounters> entry : counters.asMap().entrySet()) {
+            TaskCounters stale = entry.getValue();
+            long changesBefore = stale.changes();
+            // loaded outside any lock, so reads and deltas for other users are not held up by the query
+            TaskCounters fresh = load(entry.getKey());
+            synchronized (stale) {
+                // a delta that landed during the load may be missing from it; the next pass picks it up
+                if (stale.changes == changesBefore && counters.asMap().replace(entry.getKey(), stale, fresh)) {
+                    reconciled++;
+                }
+            }
+        }
+        if (reconciled > 0) {
+            log.debug("Reconciled task counters for {} user(s)", reconciled);
+        }
+    }
+
+    private void afterCommit(UUID userId, Consumer<TaskCounters> change) {
+        Runnable apply = () -> {
+            TaskCounters taskCounters = counters.getIfPresent(userId);
+            if (taskCounters != null) {
+                change.accept(taskCounters);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private TaskCounters load(UUID userId) {
+        TaskCounters taskCounters = new TaskCounters();
+        taskRepository.countGroupsByUserId(userId).forEach(taskCounters::add);
+        taskRepository.countCategoriesByUserId(userId)
+                .forEach(count -> taskCounters.byCategory.put(count.categoryId(), count.count()));
+        return taskCounters;
+    }
+
+    private static final class TaskCounters {
+
+        private long total;
+        private long favorites;
+        private long changes;
+        private final Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        private final Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        private final Map<UUID, Long> byCategory = new HashMap<>();
+
+        private void add(TaskGroupCount group) {
+            total += group.count();
+            if (group.favorite()) {
+                favorites += group.count();
+            }
+            byStatus.merge(group.status(), group.count(), Long::sum);
+            byPriority.merge(group.priority(), group.count(), Long::sum);
+        }
+
+        private synchronized long changes() {
+            return changes;
+        }
+
+        private synchronized void apply(TaskStatsSnapshot snapshot, long delta) {
+            changes++;
+            total += delta;
+            if (snapshot.favorite()) {
+                favorites += delta;
+            }
+            byStatus.merge(snapshot.status(), delta, Long::sum);
+            byPriority.merge(snapshot.priority(), delta, Long::sum);
+            snapshot.categoryIds().forEach(categoryId -> byCategory.merge(categoryId, delta, Long::sum));
+        }
+
+        private synchronized void shiftStatus(TaskStatus from, TaskStatus to, long count) {
+            changes++;
+            byStatus.merge(from, -count, Long::sum);
+            byStatus.merge(to, count, Long::sum);
+        }
+
+        private synchronized TaskStatsResponse toResponse() {
+            return TaskStatsResponse.builder()
+                    .total(total)
+                    .favorites(favorites)
+                    .byStatus(new EnumMap<>(byStatus))
+                    .byPriority(new EnumMap<>(byPriority))
+                    .byCategory(new HashMap<>(byCategory))
+                    .build();
+        }
+    }
+}
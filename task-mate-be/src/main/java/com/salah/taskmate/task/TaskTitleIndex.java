@@ -0,0 +1,146 @@
+package com.salah.taskmate.task;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Per-user trigram index over task titles, used to resolve free-form chat input to a task.
+ */
+@Component
+public class TaskTitleIndex {
+
+    private static final Set<String> FILLER_WORDS = Set.of(
+            "a", "an", "the", "my", "me", "i", "to", "for", "of", "in", "on", "into", "this", "that",
+            "please", "can", "you", "could", "want", "task", "tasks", "called", "named",
+            "categorize", "categorise", "category", "categories"
+    );
+
+    private final LoadingCache<UUID, UserTitles> cache;
+
+    public TaskTitleIndex(
+            TaskRepository taskRepository,
+            @Value("${task.title-index.max-users:10000}") long maxUsers,
+            @Value("${task.title-index.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build(userId -> UserTitles.of(taskRepository.findTitlesByUserId(userId)));
+    }
+
+    public Optional<TitleMatch> resolve(UUID userId, String input) {
+        return cache.get(userId).bestMatch(input);
+    }
+
+    // after completion, so a concurrent resolve cannot reload the titles the write is replacing
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : normalize(text).split(" ")) {
+            if (word.isEmpty() || FILLER_WORDS.contains(word)) {
+                continue;
+            }
+            String padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    private record IndexedTitle(UUID taskId, String title, int trigramCount) {
+    }
+
+    private static final class UserTitles {
+
+        private final List<IndexedTitle> titles;
+        private final Map<String, int[]> postings;
+
+        private UserTitles(List<IndexedTitle> titles, Map<String, int[]> postings) {
+            this.titles = titles;
+            this.postings = postings;
+        }
+
+        static UserTitles of(List<TaskTitleView> views) {
+            List<IndexedTitle> titles = new ArrayList<>(views.size());
+            Map<String, List<Integer>> postingLists = new HashMap<>();
+
+            for (TaskTitleView view : views) {
+                Set<String> trigrams = trigrams(view.getTitle());
+                int position = titles.size();
+                titles.add(new IndexedTitle(view.getId(), view.getTitle(), trigrams.size()));
+                trigrams.forEach(trigram -> postingLists.computeIfAbsent(trigram, key -> new ArrayList<>()).add(position));
+            }
+
+            Map<String, int[]> postings = new HashMap<>(postingLists.size());
+            postingLists.forEach((trigram, positions) ->
+                    postings.put(trigram, positions.stream().mapToInt(Integer::intValue).toArray()));
+            return new UserTitles(titles, postings);
+        }
+
+        Optional<TitleMatch> bestMatch(String input) {
+            Set<String> inputTrigrams = trigrams(input);
+            if (inputTrigrams.isEmpty() || titles.isEmpty()) {
+                return Optional.empty();
+            }
+
+            int[] shared = new int[titles.size()];
+            for (String trigram : inputTrigrams) {
+                int[] positions = postings.get(trigram);
+                if (positions != null) {
+                    for (int position : positions) {
+                        shared[position]++;
+                    }
+                }
+            }
+
+            int bestPosition = -1;
+            double bestScore = 0;
+            for (int position = 0; position < shared.length; position++) {
+                if (shared[position] == 0) {
+                    continue;
+                }
+                IndexedTitle title = titles.get(position);
+                // Chat input usually wraps the title in extra words, so weigh how much of the
+                // title is covered alongside the symmetric Dice similarity.
+                double coverage = (double) shared[position] / title.trigramCount();
+                double dice = 2.0 * shared[position] / (title.trigramCount() + inputTrigrams.size());
+                double score = (coverage + dice) / 2;
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestPosition = position;
+                }
+            }
+
+            if (bestPosition < 0) {
+                return Optional.empty();
+            }
+            IndexedTitle best = titles.get(bestPosition);
+            return Optional.of(new TitleMatch(best.taskId(), best.title(), bestScore));
+        }
+    }
+}
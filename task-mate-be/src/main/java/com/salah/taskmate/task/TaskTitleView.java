@@ -0,0 +1,8 @@
+package com.salah.taskmate.task;
+
+import java.util.UUID;
+
+public interface TaskTitleView {
+    UUID getId();
+    String getTitle();
+}
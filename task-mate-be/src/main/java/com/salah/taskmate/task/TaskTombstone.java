@@ -0,0 +1,30 @@
+package com.salah.taskmate.task;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "task_tombstone")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTombstone {
+    @Id
+    @Column(name = "task_id", columnDefinition = "uuid", nullable = false, updatable = false)
+    private UUID taskId;
+
+    @Column(name = "user_id", columnDefinition = "uuid", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    // id of the deleting transaction, from the column default
+    @Column(name = "change_xid", nullable = false, insertable = false, updatable = false)
+    private Long changeXid;
+}
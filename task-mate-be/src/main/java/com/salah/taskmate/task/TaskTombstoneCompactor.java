@@ -0,0 +1,54 @@
+package com.salah.taskmate.task;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Drops tombstones older than the sync retention window. Clients holding a cursor from before the window
+ * are told to resync from scratch, so the table only ever holds recent deletions.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskTombstoneCompactor {
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+
+    @Value("${task.changes.tombstone-retention:P30D}")
+    private Duration retention;
+
+    @Value("${task.changes.compaction-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Oldest point a sync cursor may resume from; tombstones before it may already be gone.
+     */
+    public LocalDateTime retentionHorizon() {
+        return LocalDateTime.now().minus(retention);
+    }
+
+    @Scheduled(
+            initialDelayString = "${task.changes.compaction-initial-delay-ms:60000}",
+            fixedDelayString = "${task.changes.compaction-interval-ms:3600000}"
+    )
+    public void compact() {
+        LocalDateTime cutoff = retentionHorizon();
+        long total = 0;
+        int deleted;
+
+        do {
+            deleted = taskTombstoneRepository.deleteOlderThan(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("Compacted {} task tombstone(s) older than {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.salah.taskmate.task;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    @Query("""
+            SELECT tt FROM TaskTombstone tt
+            WHERE tt.userId = :userId
+              AND (tt.changeXid, tt.taskId) > (:changeXid, :id)
+              AND tt.changeXid < :horizon
+            ORDER BY tt.changeXid ASC, tt.taskId ASC
+            """)
+    List<TaskTombstone> findChangedSince(
+            @Param("userId") UUID userId,
+            @Param("changeXid") long changeXid,
+            @Param("id") UUID id,
+            @Param("horizon") long horizon,
+            Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_tombstone
+            WHERE task_id IN (
+                SELECT task_id FROM task_tombstone
+                WHERE deleted_at < :cutoff
+                LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,6 @@
+package com.salah.taskmate.task;
+
+import java.util.UUID;
+
+public record TitleMatch(UUID taskId, String title, double confidence) {
+}
@@ -0,0 +1,19 @@
+package com.salah.taskmate.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTaskResult {
+    private int index;
+    private boolean success;
+    private TaskResponse task;
+    private Map<String, String> errors;
+}
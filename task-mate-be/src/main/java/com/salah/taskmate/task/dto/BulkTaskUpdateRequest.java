@@ -0,0 +1,38 @@
+package com.salah.taskmate.task.dto;
+
+import com.salah.taskmate.task.enums.TaskStatus;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskUpdateRequest {
+    @Size(max = 1000, message = "At most 1000 task ids can be updated at once")
+    private List<UUID> taskIds;
+
+    private TaskStatus status;
+
+    private LocalDateTime dueFrom;
+
+    private LocalDateTime dueTo;
+
+    private UUID categoryId;
+
+    @Builder.Default
+    private boolean returnTasks = false;
+
+    public boolean hasSelection() {
+        return (taskIds != null && !taskIds.isEmpty())
+                || status != null
+                || dueFrom != null
+                || dueTo != null
+                || categoryId != null;
+    }
+}
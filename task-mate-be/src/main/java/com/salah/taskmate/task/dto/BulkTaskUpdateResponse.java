@@ -0,0 +1,17 @@
+package com.salah.taskmate.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTaskUpdateResponse {
+    private int affected;
+    private List<TaskResponse> tasks;
+}
@@ -0,0 +1,24 @@
+package com.salah.taskmate.task.dto;
+
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarDayResponse {
+    private LocalDate date;
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<TaskPriority, Long> byPriority;
+    private List<TaskSummaryResponse> tasks;
+}
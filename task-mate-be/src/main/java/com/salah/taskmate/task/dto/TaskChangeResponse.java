@@ -0,0 +1,21 @@
+package com.salah.taskmate.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.salah.taskmate.task.enums.TaskChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeResponse {
+    private TaskChangeType type;
+    private UUID taskId;
+    private TaskResponse task;
+}
@@ -0,0 +1,20 @@
+package com.salah.taskmate.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangesResponse {
+    private List<TaskResponse> tasks;
+    private List<UUID> deletedIds;
+    private String nextCursor;
+    private boolean hasMore;
+}
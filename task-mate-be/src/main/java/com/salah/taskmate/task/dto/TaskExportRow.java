@@ -0,0 +1,33 @@
+package com.salah.taskmate.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonPropertyOrder({"id", "title", "content", "dueDate", "status", "priority", "isFavorite", "createdAt", "categories", "recurrenceRule"})
+public class TaskExportRow {
+    private UUID id;
+    private String title;
+    private String content;
+    private LocalDateTime dueDate;
+    private TaskStatus status;
+    private TaskPriority priority;
+    @JsonProperty("isFavorite")
+    private boolean isFavorite;
+    private LocalDateTime createdAt;
+    private List<String> categories;
+    private String recurrenceRule;
+}
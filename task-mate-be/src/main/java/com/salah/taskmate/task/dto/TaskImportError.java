@@ -0,0 +1,17 @@
+package com.salah.taskmate.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportError {
+    private long row;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,20 @@
+package com.salah.taskmate.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResponse {
+    private long processed;
+    private long imported;
+    private long failed;
+    private List<TaskImportError> errors;
+    private boolean errorsTruncated;
+}
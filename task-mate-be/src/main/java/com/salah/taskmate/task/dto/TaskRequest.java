@@ -1,5 +1,6 @@
 package com.salah.taskmate.task.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.salah.taskmate.task.enums.TaskPriority;
 import com.salah.taskmate.task.enums.TaskStatus;
 import jakarta.validation.constraints.NotBlank;
@@ -31,7 +32,11 @@ public class TaskRequest {
 
     private TaskPriority priority = TaskPriority.MEDIUM;
 
+    @JsonProperty("isFavorite")
     private boolean isFavorite = false;
 
     private List<UUID> categoryIds;
+
+    @Size(max = 255, message = "Recurrence rule must be at most 255 characters")
+    private String recurrenceRule;
 }
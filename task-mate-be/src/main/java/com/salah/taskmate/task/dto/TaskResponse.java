@@ -1,5 +1,6 @@
 package com.salah.taskmate.task.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.salah.taskmate.category.dto.CategoryResponse;
 import com.salah.taskmate.task.enums.TaskPriority;
@@ -29,4 +30,12 @@ public class TaskResponse {
     @JsonProperty("isFavorite")
     private boolean isFavorite;
     private List<CategoryResponse> categories;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String recurrenceRule;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UUID seriesId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime occurrenceDate;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean archived;
 }
@@ -0,0 +1,26 @@
+package com.salah.taskmate.task.dto;
+
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchResult {
+    private UUID id;
+    private String title;
+    private LocalDateTime dueDate;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private float rank;
+    private String titleHighlight;
+    private String contentHighlight;
+}
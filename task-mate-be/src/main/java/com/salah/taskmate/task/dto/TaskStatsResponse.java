@@ -0,0 +1,23 @@
+package com.salah.taskmate.task.dto;
+
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatsResponse {
+    private long total;
+    private long favorites;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<TaskPriority, Long> byPriority;
+    private Map<UUID, Long> byCategory;
+}
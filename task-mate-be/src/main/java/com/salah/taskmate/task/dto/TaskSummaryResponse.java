@@ -0,0 +1,31 @@
+package com.salah.taskmate.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSummaryResponse {
+    private UUID id;
+    private String title;
+    private LocalDateTime dueDate;
+    private TaskStatus status;
+    private TaskPriority priority;
+    @JsonProperty("isFavorite")
+    private boolean isFavorite;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UUID seriesId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime occurrenceDate;
+}
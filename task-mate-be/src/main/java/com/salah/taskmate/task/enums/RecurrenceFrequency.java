@@ -0,0 +1,17 @@
+package com.salah.taskmate.task.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.temporal.ChronoUnit;
+
+@Getter
+@RequiredArgsConstructor
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS),
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+}
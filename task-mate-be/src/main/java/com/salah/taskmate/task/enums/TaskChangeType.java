@@ -0,0 +1,9 @@
+package com.salah.taskmate.task.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    REMINDER,
+    RESYNC
+}
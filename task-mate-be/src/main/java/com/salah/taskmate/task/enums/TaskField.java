@@ -0,0 +1,40 @@
+package com.salah.taskmate.task.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    CONTENT("content"),
+    DUE_DATE("dueDate"),
+    STATUS("status"),
+    PRIORITY("priority"),
+    CREATED_AT("createdAt"),
+    USERNAME("username"),
+    IS_FAVORITE("isFavorite"),
+    CATEGORIES("categories");
+
+    private final String jsonName;
+
+    public static Set<TaskField> parse(Collection<String> names) {
+        Set<TaskField> fields = EnumSet.of(ID);
+        for (String name : names) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            fields.add(EnumSet.allOf(TaskField.class).stream()
+                    .filter(field -> field.jsonName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown task field: " + trimmed)));
+        }
+        return fields;
+    }
+}
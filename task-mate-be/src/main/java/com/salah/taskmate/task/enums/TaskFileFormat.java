@@ -0,0 +1,6 @@
+package com.salah.taskmate.task.enums;
+
+public enum TaskFileFormat {
+    NDJSON,
+    CSV
+}
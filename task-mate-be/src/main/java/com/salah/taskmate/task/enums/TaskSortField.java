@@ -0,0 +1,22 @@
+package com.salah.taskmate.task.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum TaskSortField {
+    DUE_DATE("dueDate"),
+    UPDATED_AT("updatedAt");
+
+    private final String jsonName;
+
+    public static TaskSortField parse(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.jsonName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + name));
+    }
+}
@@ -49,11 +49,13 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findUserById(UUID userId) {
         return getUserOrThrow(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getUserById(UUID userId) {
         User user = getUserOrThrow(userId);
         log.info("Admin retrieved user: {}", userId);
@@ -61,6 +63,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<User> users = userRepository.findAll(pageable);
@@ -69,6 +72,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserResponse> getUsersByStatus(boolean enabled, Pageable pageable) {
         Page<User> users = userRepository.findByEnabled(enabled, pageable);
         log.info("Admin retrieved {} users with enabled status: {}", users.getTotalElements(), enabled);
@@ -127,6 +131,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getMyProfile(UUID currentUserId) {
         User user = getCurrentUserOrThrow(currentUserId);
         log.debug("User {} retrieved their own profile", currentUserId);
@@ -0,0 +1,95 @@
+-- Schema as previously produced by hibernate.ddl-auto=update plus the startup schema initializers.
+-- Constraint names match the ones Hibernate generated, so databases baselined at version 1 and
+-- databases built from this script end up identical.
+
+CREATE TABLE users (
+    id         uuid         NOT NULL,
+    username   varchar(255) NOT NULL,
+    email      varchar(255) NOT NULL,
+    password   varchar(255) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    role       varchar(255) NOT NULL,
+    enabled    boolean      NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT users_username_key UNIQUE (username),
+    CONSTRAINT users_email_key UNIQUE (email),
+    CONSTRAINT users_role_check CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE category (
+    id      uuid         NOT NULL,
+    name    varchar(255) NOT NULL,
+    color   varchar(255) NOT NULL,
+    icon    varchar(255) NOT NULL,
+    user_id uuid         NOT NULL,
+    CONSTRAINT category_pkey PRIMARY KEY (id),
+    CONSTRAINT fk7ffrpnxaflomhdh0qfk2jcndo FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE task (
+    id               uuid          NOT NULL,
+    title            varchar(100)  NOT NULL,
+    content          varchar(1000),
+    due_date         timestamp(6)  NOT NULL,
+    status           varchar(255)  NOT NULL,
+    priority         varchar(255)  NOT NULL,
+    created_at       timestamp(6)  NOT NULL,
+    updated_at       timestamp(6),
+    version          bigint        NOT NULL DEFAULT 0,
+    is_favorite      boolean       NOT NULL,
+    recurrence_rule  varchar(255),
+    recurrence_until timestamp(6),
+    series_id        uuid,
+    occurrence_date  timestamp(6),
+    user_id          uuid,
+    search_vector    tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) STORED,
+    CONSTRAINT task_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_task_series_occurrence UNIQUE (series_id, occurrence_date),
+    CONSTRAINT task_status_check CHECK (status IN ('PENDING', 'DONE', 'MISSED')),
+    CONSTRAINT task_priority_check CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    CONSTRAINT fkbhwpp8tr117vvbxhf5sbkdkc9 FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_task_user_due_date_id ON task (user_id, due_date, id);
+CREATE INDEX idx_task_status_due_date_id ON task (status, due_date, id);
+CREATE INDEX idx_task_user_updated_at_id ON task (user_id, updated_at, id);
+CREATE INDEX idx_task_search_vector ON task USING gin (search_vector);
+
+CREATE TABLE task_category (
+    task_id     uuid NOT NULL,
+    category_id uuid NOT NULL,
+    CONSTRAINT task_category_pkey PRIMARY KEY (category_id, task_id),
+    CONSTRAINT fkcgiuxicwjrn8fl4daax3dc25n FOREIGN KEY (task_id) REFERENCES task (id),
+    CONSTRAINT fk25uy4nsn6ht0943cc54y0oybg FOREIGN KEY (category_id) REFERENCES category (id)
+);
+
+CREATE TABLE task_tombstone (
+    task_id    uuid         NOT NULL,
+    user_id    uuid         NOT NULL,
+    deleted_at timestamp(6) NOT NULL,
+    CONSTRAINT task_tombstone_pkey PRIMARY KEY (task_id)
+);
+
+CREATE INDEX idx_task_tombstone_user_deleted_at_id ON task_tombstone (user_id, deleted_at, task_id);
+CREATE INDEX idx_task_tombstone_deleted_at ON task_tombstone (deleted_at);
+
+CREATE TABLE task_reminder_checkpoint (
+    name       varchar(64)  NOT NULL,
+    due_date   timestamp(6) NOT NULL,
+    task_id    uuid         NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    CONSTRAINT task_reminder_checkpoint_pkey PRIMARY KEY (name)
+);
+
+CREATE TABLE password_reset_token (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY,
+    token       varchar(255),
+    expiry_date timestamp(6),
+    user_id     uuid,
+    CONSTRAINT password_reset_token_pkey PRIMARY KEY (id),
+    CONSTRAINT password_reset_token_user_id_key UNIQUE (user_id),
+    CONSTRAINT fk83nsrttkwkb6ym0anu051mtxn FOREIGN KEY (user_id) REFERENCES users (id)
+);
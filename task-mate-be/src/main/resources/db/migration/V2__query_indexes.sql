@@ -0,0 +1,25 @@
+-- Indexes matched to the repository queries. Statements are idempotent because databases that were
+-- baselined from ddl-auto may already carry some of them.
+
+-- Delta sync keys on updated_at; rows written before the column existed fall back to created_at.
+UPDATE task SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE task ALTER COLUMN updated_at SET NOT NULL;
+
+-- Overdue sweeper and reminder loader only ever read pending, non-recurring rows in (due_date, id) order.
+DROP INDEX IF EXISTS idx_task_status_due_date;
+DROP INDEX IF EXISTS idx_task_status_due_date_id;
+CREATE INDEX IF NOT EXISTS idx_task_pending_due_date_id ON task (due_date, id)
+    WHERE status = 'PENDING' AND recurrence_rule IS NULL;
+
+-- findSeriesInRange: a user's recurring series, usually a handful among many one-off tasks.
+CREATE INDEX IF NOT EXISTS idx_task_user_series_due_date ON task (user_id, due_date)
+    WHERE recurrence_rule IS NOT NULL;
+
+-- The primary key leads with category_id; batch-loading a page of tasks' categories needs task_id first.
+CREATE INDEX IF NOT EXISTS idx_task_category_task_id_category_id ON task_category (task_id, category_id);
+
+-- findAllByUserId, findByNameAndUserId and existsByNameAndUserId.
+CREATE INDEX IF NOT EXISTS idx_category_user_id_name ON category (user_id, name);
+
+-- findByToken.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_password_reset_token_token ON password_reset_token (token);
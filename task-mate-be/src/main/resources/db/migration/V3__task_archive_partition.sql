@@ -0,0 +1,68 @@
+-- Split task into a hot and an archived partition on a new "archived" flag. The existing table is attached
+-- as the hot partition, so no rows are copied; its secondary indexes are adopted by the partitioned parent.
+-- Keys referenced across partitions must include the partition key, hence (id, archived).
+
+ALTER TABLE task_category DROP CONSTRAINT fkcgiuxicwjrn8fl4daax3dc25n;
+
+ALTER TABLE task RENAME TO task_hot;
+ALTER TABLE task_hot DROP CONSTRAINT task_pkey;
+ALTER TABLE task_hot DROP CONSTRAINT uk_task_series_occurrence;
+ALTER TABLE task_hot ADD COLUMN archived boolean NOT NULL DEFAULT false;
+-- lets ATTACH PARTITION skip scanning the table to prove every row belongs in it
+ALTER TABLE task_hot ADD CONSTRAINT task_hot_archived_check CHECK (archived = false);
+
+ALTER INDEX idx_task_user_due_date_id RENAME TO task_hot_user_id_due_date_id_idx;
+ALTER INDEX idx_task_user_updated_at_id RENAME TO task_hot_user_id_updated_at_id_idx;
+ALTER INDEX idx_task_pending_due_date_id RENAME TO task_hot_due_date_id_idx;
+ALTER INDEX idx_task_user_series_due_date RENAME TO task_hot_user_id_due_date_idx;
+ALTER INDEX idx_task_search_vector RENAME TO task_hot_search_vector_idx;
+
+CREATE TABLE task (
+    id               uuid          NOT NULL,
+    title            varchar(100)  NOT NULL,
+    content          varchar(1000),
+    due_date         timestamp(6)  NOT NULL,
+    status           varchar(255)  NOT NULL,
+    priority         varchar(255)  NOT NULL,
+    created_at       timestamp(6)  NOT NULL,
+    updated_at       timestamp(6)  NOT NULL,
+    version          bigint        NOT NULL DEFAULT 0,
+    is_favorite      boolean       NOT NULL,
+    recurrence_rule  varchar(255),
+    recurrence_until timestamp(6),
+    series_id        uuid,
+    occurrence_date  timestamp(6),
+    user_id          uuid,
+    search_vector    tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) STORED,
+    archived         boolean       NOT NULL DEFAULT false,
+    CONSTRAINT task_pkey PRIMARY KEY (id, archived),
+    CONSTRAINT uk_task_series_occurrence UNIQUE (series_id, occurrence_date, archived),
+    CONSTRAINT task_status_check CHECK (status IN ('PENDING', 'DONE', 'MISSED')),
+    CONSTRAINT task_priority_check CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    CONSTRAINT fkbhwpp8tr117vvbxhf5sbkdkc9 FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY LIST (archived);
+
+CREATE INDEX idx_task_user_due_date_id ON task (user_id, due_date, id);
+CREATE INDEX idx_task_user_updated_at_id ON task (user_id, updated_at, id);
+CREATE INDEX idx_task_pending_due_date_id ON task (due_date, id)
+    WHERE status = 'PENDING' AND recurrence_rule IS NULL;
+CREATE INDEX idx_task_user_series_due_date ON task (user_id, due_date)
+    WHERE recurrence_rule IS NOT NULL;
+CREATE INDEX idx_task_search_vector ON task USING gin (search_vector);
+
+ALTER TABLE task ATTACH PARTITION task_hot FOR VALUES IN (false);
+ALTER TABLE task_hot DROP CONSTRAINT task_hot_archived_check;
+
+CREATE TABLE task_archived PARTITION OF task FOR VALUES IN (true);
+
+-- the archiver walks finished one-off tasks in the hot partition by last update
+CREATE INDEX idx_task_hot_finished_updated_at ON task_hot (updated_at)
+    WHERE status IN ('DONE', 'MISSED') AND recurrence_rule IS NULL;
+
+-- task_category follows its task into the archive through the cascading composite key
+ALTER TABLE task_category ADD COLUMN task_archived boolean NOT NULL DEFAULT false;
+ALTER TABLE task_category ADD CONSTRAINT fk_task_category_task
+    FOREIGN KEY (task_id, task_archived) REFERENCES task (id, archived) ON UPDATE CASCADE;
@@ -0,0 +1,9 @@
+-- Filtered task listings (TaskListQuery): each accepted filter combination reads one of these in order,
+-- so a page is a bounded index range scan instead of a scan and sort of all the user's tasks. Unfiltered
+-- listings keep using idx_task_user_due_date_id and idx_task_user_updated_at_id; a category filter walks
+-- idx_task_user_due_date_id and probes idx_task_category_task_id_category_id.
+
+CREATE INDEX idx_task_user_status_due_date_id ON task (user_id, status, due_date, id);
+CREATE INDEX idx_task_user_priority_due_date_id ON task (user_id, priority, due_date, id);
+CREATE INDEX idx_task_user_status_priority_due_date_id ON task (user_id, status, priority, due_date, id);
+CREATE INDEX idx_task_user_favorite_due_date_id ON task (user_id, is_favorite, due_date, id);
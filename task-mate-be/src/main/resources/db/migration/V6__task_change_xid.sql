@@ -0,0 +1,26 @@
+-- Delta sync orders changes by the id of the transaction that wrote them instead of updated_at. A reader only
+-- returns changes below the xmin of its snapshot, the oldest transaction still running, so a cursor never moves
+-- past a transaction that commits later, however long it runs. Ids are 64-bit (epoch and xid), so they do not
+-- wrap. Rows written before this migration get 0 and are only returned to clients syncing from the start;
+-- cursors issued before it are rejected as expired.
+
+ALTER TABLE task ADD COLUMN change_xid bigint NOT NULL DEFAULT 0;
+ALTER TABLE task ALTER COLUMN change_xid DROP DEFAULT;
+
+-- every insert and update, including bulk statements, the import loader and partition moves
+CREATE FUNCTION task_stamp_change_xid() RETURNS trigger AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER task_stamp_change_xid BEFORE INSERT OR UPDATE ON task
+    FOR EACH ROW EXECUTE FUNCTION task_stamp_change_xid();
+
+ALTER TABLE task_tombstone ADD COLUMN change_xid bigint NOT NULL DEFAULT 0;
+ALTER TABLE task_tombstone ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id()::text::bigint;
+
+CREATE INDEX idx_task_user_change_xid_id ON task (user_id, change_xid, id);
+CREATE INDEX idx_task_tombstone_user_change_xid_id ON task_tombstone (user_id, change_xid, task_id);
+DROP INDEX idx_task_tombstone_user_deleted_at_id;
@@ -0,0 +1,12 @@
+-- V3 moves archived tasks between partitions with an UPDATE, and task_category follows through its
+-- ON UPDATE CASCADE key. Before PostgreSQL 15 a cross-partition UPDATE fires the foreign key as a delete from the
+-- source partition, so every archive batch with categorized tasks fails with a foreign key violation. Refuse to
+-- run on such a server instead of failing in the archiver later.
+
+DO $$
+BEGIN
+    IF current_setting('server_version_num')::int < 150000 THEN
+        RAISE EXCEPTION 'TaskMate requires PostgreSQL 15 or later, this server is %', current_setting('server_version');
+    END IF;
+END
+$$;
@@ -0,0 +1,5 @@
+-- Only the instance holding the lease on a checkpoint sends its reminders; the others stand by and take over from
+-- the checkpoint once the lease runs out. Lease times come from the database clock, so instances need not agree.
+
+ALTER TABLE task_reminder_checkpoint ADD COLUMN lease_owner varchar(64);
+ALTER TABLE task_reminder_checkpoint ADD COLUMN lease_until timestamp(6);
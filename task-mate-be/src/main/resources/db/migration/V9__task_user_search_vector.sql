@@ -0,0 +1,9 @@
+-- Search always filters on user_id, but the GIN index only covered search_vector, so a common term had every
+-- user's matching rows fetched from the heap before the user filter dropped them. btree_gin lets user_id lead the
+-- same GIN index, so the bitmap only holds the searching user's matches. btree_gin is a trusted extension, so the
+-- database owner can create it.
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_task_user_search_vector ON task USING gin (user_id, search_vector);
+DROP INDEX idx_task_search_vector;
@@ -0,0 +1,29 @@
+-- baseline-on-migrate records any non-empty schema without a history table as version 1, and V2 onwards then run
+-- against whatever is there. Only a schema left by the pre-Flyway releases, which V1 reproduces, may be baselined;
+-- anything else must be migrated from an empty schema or fixed by hand.
+
+DO $$
+DECLARE
+    missing text;
+BEGIN
+    SELECT string_agg(required.name, ', ') INTO missing
+    FROM unnest(ARRAY['users', 'category', 'task', 'task_category', 'task_tombstone', 'task_reminder_checkpoint',
+                      'password_reset_token']) AS required(name)
+    WHERE to_regclass(quote_ident(current_schema()) || '.' || required.name) IS NULL;
+    IF missing IS NOT NULL THEN
+        RAISE EXCEPTION 'Refusing to baseline schema % at version 1, tables missing: %', current_schema(), missing;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = 'task' AND column_name = 'search_vector') THEN
+        RAISE EXCEPTION 'Refusing to baseline schema % at version 1, task.search_vector is missing', current_schema()
+            USING HINT = 'Start the last pre-Flyway release once so it creates the column';
+    END IF;
+
+    -- a partitioned task table means later migrations already ran and their history was lost
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'task' AND column_name = 'archived') THEN
+        RAISE EXCEPTION 'Refusing to baseline schema % at version 1, it is already past version 1', current_schema();
+    END IF;
+END
+$$;
@@ -0,0 +1,109 @@
+package com.salah.taskmate.category;
+
+import com.salah.taskmate.category.dto.CategoryRequest;
+import com.salah.taskmate.category.dto.CategoryResponse;
+import com.salah.taskmate.user.User;
+import com.salah.taskmate.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: invalidation is deferred until the writing transaction completes, which the test drives itself.
+ */
+@SpringBootTest
+class CategoryCacheTests {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+    private UUID categoryId;
+
+    @BeforeEach
+    void seedCategory() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .username("category-cache-" + suffix)
+                .email("category-cache-" + suffix + "@taskmate.test")
+                .password("not-used")
+                .build());
+        userId = user.getId();
+        categoryId = categoryRepository.save(Category.builder()
+                        .name("Work")
+                        .color("#FF5733")
+                        .icon("briefcase")
+                        .user(user)
+                        .build())
+                .getId();
+    }
+
+    @AfterEach
+    void removeUser() {
+        jdbcTemplate.update("DELETE FROM category WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        assertThat(categoryService.getCategoriesByUserId(userId)).extracting(CategoryResponse::getName).containsExactly("Work");
+        assertThat(categoryService.findByNameAndUserId("Work", userId)).isPresent();
+        assertThat(categoryService.getCategoriesJsonByUserId(userId)).contains("\"Work\"");
+
+        assertThat(cacheGets("miss") - misses).isEqualTo(1);
+        assertThat(cacheGets("hit") - hits).isEqualTo(2);
+    }
+
+    @Test
+    void writesInvalidateTheEntryOnlyOnceTheyCommit() {
+        categoryService.getCategoriesByUserId(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryService.updateCategory(userId, categoryId, new CategoryRequest("Office", "#FF5733", "briefcase"));
+            // readers keep the committed state until the rename commits
+            assertThat(categoryCache.getCategories(userId)).extracting(CategoryResponse::getName).containsExactly("Work");
+        });
+
+        double misses = cacheGets("miss");
+        assertThat(categoryService.getCategoriesByUserId(userId)).extracting(CategoryResponse::getName).containsExactly("Office");
+        assertThat(cacheGets("miss") - misses).isEqualTo(1);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "categories")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
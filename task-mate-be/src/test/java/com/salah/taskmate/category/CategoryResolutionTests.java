@@ -0,0 +1,154 @@
+package com.salah.taskmate.category;
+
+import com.salah.taskmate.shared.persistence.CapturingStatementInspector;
+import com.salah.taskmate.shared.persistence.StatementCaptureConfig;
+import com.salah.taskmate.user.User;
+import com.salah.taskmate.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that category ids resolve in one ownership-scoped statement, and compares its latency with loading by id
+ * and checking the owner in Java. Only statement counts are asserted; the timings are logged.
+ */
+@Slf4j
+@SpringBootTest
+@Import(StatementCaptureConfig.class)
+@Transactional
+class CategoryResolutionTests {
+
+    private static final int CATEGORY_COUNT = 20;
+    private static final int ITERATIONS = 2000;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CapturingStatementInspector statements;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private UUID userId;
+    private List<UUID> categoryIds;
+    private UUID foreignCategoryId;
+
+    @BeforeEach
+    void seedCategories() {
+        User user = saveUser();
+        userId = user.getId();
+        categoryIds = saveCategories(user, CATEGORY_COUNT);
+        foreignCategoryId = saveCategories(saveUser(), 1).getFirst();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statements.clear();
+    }
+
+    @Test
+    void ownedCategoriesResolveInRequestOrderInOneStatement() {
+        List<UUID> requested = new ArrayList<>(categoryIds.reversed());
+        requested.add(categoryIds.getFirst());
+
+        List<Category> categories = categoryService.getOwnedCategories(requested, userId);
+
+        assertThat(categories).extracting(Category::getId).containsExactlyElementsOf(categoryIds.reversed());
+        assertThat(statements.count()).isEqualTo(1);
+    }
+
+    @Test
+    void missingAndForeignIdsAreRejectedInOneStatement() {
+        UUID missingCategoryId = UUID.randomUUID();
+        List<UUID> requested = List.of(categoryIds.getFirst(), foreignCategoryId, missingCategoryId);
+
+        assertThatThrownBy(() -> categoryService.getOwnedCategories(requested, userId))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining(foreignCategoryId.toString())
+                .hasMessageContaining(missingCategoryId.toString());
+        assertThat(statements.count()).isEqualTo(1);
+    }
+
+    @Test
+    void scopedQueryLatencyComparedWithOwnerCheckInJava() {
+        Supplier<List<Category>> scoped = () -> categoryService.getOwnedCategories(categoryIds, userId);
+        Supplier<List<Category>> ownerCheckedInJava = () -> {
+            List<Category> categories = categoryRepository.findAllById(categoryIds);
+            if (!categories.stream().allMatch(category -> category.getUser().getId().equals(userId))) {
+                throw new IllegalStateException("foreign category");
+            }
+            return categories;
+        };
+
+        measure(scoped);
+        measure(ownerCheckedInJava);
+        Measurement scopedMeasurement = measure(scoped);
+        Measurement javaMeasurement = measure(ownerCheckedInJava);
+        log.info("{} resolutions of {} ids: scoped query {} us/op, {} statements/op; "
+                        + "findAllById with owner check {} us/op, {} statements/op",
+                ITERATIONS, CATEGORY_COUNT, scopedMeasurement.microsPerOp(), scopedMeasurement.statementsPerOp(),
+                javaMeasurement.microsPerOp(), javaMeasurement.statementsPerOp());
+
+        assertThat(scopedMeasurement.statementsPerOp()).isEqualTo(1.0);
+    }
+
+    private Measurement measure(Supplier<List<Category>> resolution) {
+        statements.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(resolution.get()).hasSize(CATEGORY_COUNT);
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Measurement(elapsed / 1000 / ITERATIONS, (double) statements.count() / ITERATIONS);
+    }
+
+    private User saveUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username("category-resolution-" + suffix)
+                .email("category-resolution-" + suffix + "@taskmate.test")
+                .password("not-used")
+                .build());
+    }
+
+    private List<UUID> saveCategories(User user, int count) {
+        return categoryRepository.saveAll(IntStream.range(0, count)
+                        .mapToObj(i -> Category.builder()
+                                .name("Category " + i)
+                                .color("#FF5733")
+                                .icon("book")
+                                .user(user)
+                                .build())
+                        .toList())
+                .stream()
+                .map(Category::getId)
+                .toList();
+    }
+
+    private record Measurement(long microsPerOp, double statementsPerOp) {
+    }
+}
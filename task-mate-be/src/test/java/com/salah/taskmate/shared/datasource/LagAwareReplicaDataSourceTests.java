@@ -0,0 +1,152 @@
+package com.salah.taskmate.shared.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The "replica" is a second pool on the primary server that tags its sessions with its own application_name, so a
+ * query can tell which pool served it. A lagging standby is stood in for by a connection whose search_path puts
+ * stubs of the recovery functions ahead of pg_catalog.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=${spring.datasource.url}",
+        "app.datasource.replica.hikari.data-source-properties.ApplicationName=" + LagAwareReplicaDataSourceTests.REPLICA,
+        "app.datasource.replica.lag-check-interval-ms=3600000"
+})
+class LagAwareReplicaDataSourceTests {
+
+    static final String REPLICA = "taskmate-replica";
+    private static final String LAGGING_REPLICA = "taskmate-lagging-replica";
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private LagAwareReplicaDataSource readDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @BeforeEach
+    void stubRecoveryFunctions() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS replica_stub");
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION replica_stub.pg_is_in_recovery() RETURNS boolean "
+                + "LANGUAGE sql AS 'SELECT true'");
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION replica_stub.pg_last_wal_receive_lsn() RETURNS pg_lsn "
+                + "LANGUAGE sql AS 'SELECT ''0/2''::pg_lsn'");
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION replica_stub.pg_last_wal_replay_lsn() RETURNS pg_lsn "
+                + "LANGUAGE sql AS 'SELECT ''0/1''::pg_lsn'");
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION replica_stub.pg_last_xact_replay_timestamp() RETURNS timestamptz "
+                + "LANGUAGE sql AS 'SELECT now() - interval ''30 seconds'''");
+    }
+
+    @AfterEach
+    void dropRecoveryStubs() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS replica_stub CASCADE");
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByTheReplica() {
+        readDataSource.checkLag();
+        assertThat(readDataSource.isReplicaUsable()).isTrue();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String readOnlyApplication = readOnly.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+        String readWriteApplication = readWrite.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+
+        assertThat(readOnlyApplication).isEqualTo(REPLICA);
+        assertThat(readWriteApplication).isNotEqualTo(REPLICA);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() throws SQLException {
+        LagAwareReplicaDataSource lagging = new LagAwareReplicaDataSource(
+                primaryDataSource, laggingReplica(), Duration.ofSeconds(5));
+
+        lagging.checkLag();
+
+        assertThat(lagging.isReplicaUsable()).isFalse();
+        assertThat(applicationName(lagging)).isNotEqualTo(LAGGING_REPLICA);
+    }
+
+    @Test
+    void readsMoveToTheReplicaOnceItCatchesUp() throws SQLException {
+        LagAwareReplicaDataSource caughtUp = new LagAwareReplicaDataSource(
+                primaryDataSource, laggingReplica(), Duration.ofSeconds(5));
+        caughtUp.checkLag();
+        assertThat(caughtUp.isReplicaUsable()).isFalse();
+
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION replica_stub.pg_last_wal_replay_lsn() RETURNS pg_lsn "
+                + "LANGUAGE sql AS 'SELECT ''0/2''::pg_lsn'");
+        caughtUp.checkLag();
+
+        assertThat(caughtUp.isReplicaUsable()).isTrue();
+        assertThat(applicationName(caughtUp)).isEqualTo(LAGGING_REPLICA);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnreachable() throws SQLException {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:postgresql://localhost:1/postgres", username, password);
+        LagAwareReplicaDataSource unavailable = new LagAwareReplicaDataSource(
+                primaryDataSource, unreachable, Duration.ofSeconds(5));
+
+        unavailable.checkLag();
+
+        assertThat(unavailable.isReplicaUsable()).isFalse();
+        // a connection is still handed out, from the primary
+        assertThat(applicationName(unavailable)).isNotEqualTo(LAGGING_REPLICA);
+    }
+
+    // the stubs shadow the pg_catalog functions only because pg_catalog is listed after them
+    private DataSource laggingReplica() {
+        DriverManagerDataSource replica = new DriverManagerDataSource(url, username, password);
+        Properties properties = new Properties();
+        properties.setProperty("ApplicationName", LAGGING_REPLICA);
+        properties.setProperty("options", "-c search_path=replica_stub,pg_catalog,public");
+        replica.setConnectionProperties(properties);
+        return replica;
+    }
+
+    private static String applicationName(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.createStatement().executeQuery(APPLICATION_NAME)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.salah.taskmate.shared.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the id layout. The benchmark, run with {@code mvn test -Pbenchmark}, inserts the same number of rows keyed by
+ * random and by UUIDv7 ids into two otherwise identical tables and compares insert throughput and primary key index
+ * size. Only the size is asserted; the timings depend on the machine and are logged.
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+class UuidV7GeneratorTests {
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idsAreVersion7AndStrictlyIncreasing() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID id = UuidV7Generator.next();
+            assertThat(id.version()).isEqualTo(7);
+            assertThat(id.variant()).isEqualTo(2);
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+
+        UUID fromDatabase = jdbcTemplate.queryForObject("SELECT uuid_v7()", UUID.class);
+        assertThat(fromDatabase.version()).isEqualTo(7);
+        assertThat(fromDatabase.variant()).isEqualTo(2);
+        assertThat(fromDatabase.getMostSignificantBits() >>> 16)
+                .isBetween((System.currentTimeMillis() - 60_000), System.currentTimeMillis());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void timeOrderedKeysInsertIntoASmallerIndex() {
+        long randomNanos = insertRows("uuid_bench_random", UUID::randomUUID);
+        long orderedNanos = insertRows("uuid_bench_v7", UuidV7Generator::next);
+
+        long randomIndexBytes = indexBytes("uuid_bench_random_pkey");
+        long orderedIndexBytes = indexBytes("uuid_bench_v7_pkey");
+        log.info("{} rows: random UUID {} rows/s, index {} kB; UUIDv7 {} rows/s, index {} kB",
+                ROWS, rowsPerSecond(randomNanos), randomIndexBytes / 1024,
+                rowsPerSecond(orderedNanos), orderedIndexBytes / 1024);
+
+        // random keys leave leaf pages about 70% full after splits, appended keys fill them to the 90% fillfactor
+        assertThat(orderedIndexBytes).isLessThan(randomIndexBytes * 85 / 100);
+    }
+
+    private long insertRows(String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, title varchar(100) NOT NULL)");
+
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new Object[]{ids.get(), "Task " + (inserted + i)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, title) VALUES (?, ?)", batch);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long indexBytes(String index) {
+        return jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, index);
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / nanos;
+    }
+}
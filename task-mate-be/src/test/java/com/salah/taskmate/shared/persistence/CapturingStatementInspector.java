@@ -0,0 +1,30 @@
+package com.salah.taskmate.shared.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CapturingStatementInspector implements StatementInspector {
+
+    // scheduled jobs share the persistence unit, so only statements from the test's own thread are kept
+    private final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        statements.get().add(sql);
+        return sql;
+    }
+
+    public List<String> captured() {
+        return List.copyOf(statements.get());
+    }
+
+    public int count() {
+        return statements.get().size();
+    }
+
+    public void clear() {
+        statements.get().clear();
+    }
+}
@@ -0,0 +1,24 @@
+package com.salah.taskmate.shared.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers a {@link CapturingStatementInspector} with Hibernate. Tests that count or inspect the SQL they cause
+ * import this configuration, so they all share one application context.
+ */
+@TestConfiguration
+public class StatementCaptureConfig {
+
+    @Bean
+    CapturingStatementInspector capturingStatementInspector() {
+        return new CapturingStatementInspector();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
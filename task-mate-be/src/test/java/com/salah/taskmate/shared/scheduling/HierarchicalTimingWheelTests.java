@@ -0,0 +1,74 @@
+package com.salah.taskmate.shared.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTests {
+
+    // 1 ms ticks, two levels of four buckets: level 0 spans 4 ticks, level 1 spans 16, anything further overflows
+    private static HierarchicalTimingWheel<Long> wheel() {
+        return new HierarchicalTimingWheel<>(1, 4, 2, 0);
+    }
+
+    @Test
+    void entriesExpireInDueOrderAcrossLevels() {
+        HierarchicalTimingWheel<Long> wheel = wheel();
+        for (long due : new long[]{13, 2, 7, 5, 3, 4}) {
+            assertThat(wheel.schedule(due, due)).isTrue();
+        }
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(6, expired::add);
+        assertThat(expired).containsExactly(2L, 3L, 4L, 5L);
+
+        wheel.advance(12, expired::add);
+        assertThat(expired).containsExactly(2L, 3L, 4L, 5L, 7L);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(15, expired::add);
+        assertThat(expired).containsExactly(2L, 3L, 4L, 5L, 7L, 13L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void overflowReentersWhenTheTopLevelWraps() {
+        HierarchicalTimingWheel<Long> wheel = wheel();
+        wheel.schedule(40, 40L);
+        wheel.schedule(20, 20L);
+        wheel.schedule(16, 16L);
+
+        List<Long> expired = new ArrayList<>();
+        // the wrap at 16 expires the entry due then and moves 20 onto the wheel; 40 waits for the wrap at 32
+        wheel.advance(16, expired::add);
+        assertThat(expired).containsExactly(16L);
+
+        wheel.advance(39, expired::add);
+        assertThat(expired).containsExactly(16L, 20L);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(40, expired::add);
+        assertThat(expired).containsExactly(16L, 20L, 40L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void scheduleRejectsTheCurrentAndPastTicks() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 2, 1000);
+
+        assertThat(wheel.schedule(995, 995L)).isFalse();
+        assertThat(wheel.schedule(1000, 1000L)).isFalse();
+        assertThat(wheel.schedule(1009, 1009L)).isFalse();
+        assertThat(wheel.schedule(1010, 1010L)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(2000, expired::add);
+        assertThat(expired).containsExactly(1010L);
+        assertThat(wheel.schedule(1500, 1500L)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,43 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.shared.exception.RecurrenceExpansionException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTests {
+
+    // a Tuesday
+    private static final LocalDateTime START = LocalDateTime.of(2026, Month.OCTOBER, 20, 9, 0);
+
+    @Test
+    void dailyBydayWithAWeeklyMultipleIntervalIsRejected() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=7;BYDAY=MO;COUNT=1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("FREQ=WEEKLY");
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=14;BYDAY=TU"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sparseCountedRulesStillEnd() {
+        assertThat(RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3;BYDAY=MO;COUNT=1000").lastOccurrence(START))
+                .isAfter(START);
+        assertThat(RecurrenceRule.parse("FREQ=YEARLY;COUNT=1000")
+                .lastOccurrence(LocalDateTime.of(2028, Month.FEBRUARY, 29, 9, 0)))
+                .isAfter(LocalDateTime.of(6000, Month.JANUARY, 1, 0, 0));
+    }
+
+    @Test
+    void expansionPastThePeriodCapFails() {
+        RecurrenceRule daily = RecurrenceRule.parse("FREQ=DAILY");
+
+        assertThat(daily.occurrencesBetween(START, START, START.plusDays(62))).hasSize(62);
+        assertThatThrownBy(() -> daily.occurrencesBetween(START, START, START.plusYears(100)))
+                .isInstanceOf(RecurrenceExpansionException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.task.dto.TaskChangesResponse;
+import com.salah.taskmate.task.dto.TaskResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the point is a writer that stays open across a sync and commits afterwards.
+ */
+@SpringBootTest
+class TaskChangesTests {
+
+    private static final String INSERT_TASK = """
+            INSERT INTO task (id, title, due_date, status, priority, created_at, updated_at, version, is_favorite, user_id)
+            VALUES (?, ?, now() + interval '1 day', 'PENDING', 'MEDIUM', now(), now(), 0, false, ?)
+            """;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID userId;
+
+    @BeforeEach
+    void seedUser() {
+        userId = UUID.randomUUID();
+        String suffix = userId.toString().substring(0, 8);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, username, email, password, role, enabled, created_at)
+                VALUES (?, ?, ?, 'not-used', 'USER', true, now())
+                """, userId, "changes-" + suffix, "changes-" + suffix + "@taskmate.test");
+    }
+
+    @AfterEach
+    void removeUser() {
+        jdbcTemplate.update("DELETE FROM task_tombstone WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM task WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void changesCommittedAfterASyncAreReturnedByTheNextOne() throws Exception {
+        UUID existingId = UUID.randomUUID();
+        jdbcTemplate.update(INSERT_TASK, existingId, "existing", userId);
+        TaskChangesResponse initial = taskService.getChanges(userId, null, 100);
+        assertThat(initial.getTasks()).extracting(TaskResponse::getId).containsExactly(existingId);
+
+        UUID slowId = UUID.randomUUID();
+        UUID fastId = UUID.randomUUID();
+        TaskChangesResponse duringSlowWrite;
+        try (Connection slowWriter = dataSource.getConnection()) {
+            slowWriter.setAutoCommit(false);
+            try (PreparedStatement update = slowWriter.prepareStatement("UPDATE task SET title = 'renamed' WHERE id = ?");
+                 PreparedStatement insert = slowWriter.prepareStatement(INSERT_TASK)) {
+                update.setObject(1, existingId);
+                update.executeUpdate();
+                insert.setObject(1, slowId);
+                insert.setString(2, "slow");
+                insert.setObject(3, userId);
+                insert.executeUpdate();
+            }
+            // committed, but by a transaction that started after the slow one
+            jdbcTemplate.update(INSERT_TASK, fastId, "fast", userId);
+
+            duringSlowWrite = taskService.getChanges(userId, initial.getNextCursor(), 100);
+            slowWriter.commit();
+        }
+
+        assertThat(duringSlowWrite.getTasks()).isEmpty();
+        TaskChangesResponse afterCommit = taskService.getChanges(userId, duringSlowWrite.getNextCursor(), 100);
+        assertThat(afterCommit.getTasks())
+                .extracting(TaskResponse::getId)
+                .containsExactlyInAnyOrder(existingId, slowId, fastId);
+        assertThat(afterCommit.getTasks())
+                .filteredOn(task -> task.getId().equals(existingId))
+                .extracting(TaskResponse::getTitle)
+                .containsExactly("renamed");
+    }
+
+    @Test
+    void archivedTasksAreReportedAsDeleted() {
+        UUID finishedId = UUID.randomUUID();
+        jdbcTemplate.update(INSERT_TASK, finishedId, "finished", userId);
+        jdbcTemplate.update("""
+                UPDATE task SET status = 'DONE', due_date = now() - interval '1 year', updated_at = now() - interval '1 year'
+                WHERE id = ?
+                """, finishedId);
+        TaskChangesResponse initial = taskService.getChanges(userId, null, 100);
+        assertThat(initial.getTasks()).extracting(TaskResponse::getId).containsExactly(finishedId);
+
+        taskArchiver.archiveFinishedTasks();
+
+        TaskChangesResponse afterArchive = taskService.getChanges(userId, initial.getNextCursor(), 100);
+        assertThat(afterArchive.getTasks()).isEmpty();
+        assertThat(afterArchive.getDeletedIds()).containsExactly(finishedId);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM task WHERE id = ?", Long.class, finishedId))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void allTasksETagChangesOnWritesThatKeepTheNewestTimestampAndCount() {
+        UUID newestId = UUID.randomUUID();
+        UUID olderId = UUID.randomUUID();
+        jdbcTemplate.update(INSERT_TASK, newestId, "newest", userId);
+        jdbcTemplate.update(INSERT_TASK, olderId, "older", userId);
+        jdbcTemplate.update("UPDATE task SET updated_at = now() - interval '1 hour' WHERE id = ?", olderId);
+        String initial = taskService.getAllTasksETag(userId, false);
+
+        // a write stamped with an older updated_at, as a transaction that started earlier would leave it
+        jdbcTemplate.update("UPDATE task SET title = 'renamed', updated_at = updated_at WHERE id = ?", olderId);
+        String afterUpdate = taskService.getAllTasksETag(userId, false);
+        assertThat(afterUpdate).isNotEqualTo(initial);
+
+        jdbcTemplate.update("DELETE FROM task WHERE id = ?", olderId);
+        jdbcTemplate.update(INSERT_TASK, UUID.randomUUID(), "replacement", userId);
+        jdbcTemplate.update("UPDATE task SET updated_at = now() - interval '1 hour' WHERE title = 'replacement' AND user_id = ?",
+                userId);
+        assertThat(taskService.getAllTasksETag(userId, false)).isNotEqualTo(afterUpdate);
+    }
+}
@@ -0,0 +1,160 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.shared.persistence.CapturingStatementInspector;
+import com.salah.taskmate.shared.persistence.StatementCaptureConfig;
+import com.salah.taskmate.task.enums.TaskPriority;
+import com.salah.taskmate.task.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Seeds a hundred thousand tasks, then checks that the SQL Hibernate generates for each accepted list shape
+ * plans as an ordered index scan, with no sequential scan of task and no sort. Plans are generic, so they hold
+ * for any parameter values rather than the ones used here.
+ */
+@SpringBootTest
+@Import(StatementCaptureConfig.class)
+@Transactional
+class TaskListQueryPlanTests {
+
+    private static final int USERS = 20;
+    private static final int TASKS_PER_USER = 5000;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturingStatementInspector statements;
+
+    private UUID userId;
+    private UUID categoryId;
+
+    @Test
+    void everyAcceptedShapePlansAsAnOrderedIndexScan() {
+        seedTasks();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertOrderedIndexScan(TaskListQuery.UNFILTERED, "task_hot_user_id_due_date_id_idx");
+        assertOrderedIndexScan(query(null, null, null, null, null, "updatedAt,desc"),
+                "task_hot_user_id_updated_at_id_idx");
+        assertOrderedIndexScan(query(TaskStatus.PENDING, null, null, null, now, "dueDate"),
+                "task_hot_user_id_status_due_date_id_idx");
+        assertOrderedIndexScan(query(null, TaskPriority.HIGH, null, null, null, "dueDate,desc"),
+                "task_hot_user_id_priority_due_date_id_idx");
+        assertOrderedIndexScan(query(TaskStatus.DONE, TaskPriority.LOW, null, null, null, "dueDate"),
+                "task_hot_user_id_status_priority_due_date_id_idx");
+        assertOrderedIndexScan(query(null, null, true, null, null, "dueDate"),
+                "task_hot_user_id_is_favorite_due_date_id_idx");
+        String categoryPlan = assertOrderedIndexScan(query(null, null, null, categoryId, null, "dueDate"),
+                "task_hot_user_id_due_date_id_idx");
+        assertThat(categoryPlan).containsPattern("Index (Only )?Scan using idx_task_category_task_id_category_id");
+    }
+
+    @Test
+    void combinationsWithoutAnIndexAreRejected() {
+        assertThatThrownBy(() -> query(TaskStatus.PENDING, null, true, null, null, "dueDate"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query(TaskStatus.PENDING, null, null, null, null, "updatedAt"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query(null, null, null, null, LocalDateTime.now(), "updatedAt"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void seedTasks() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, username, email, password, role, enabled, created_at)
+                SELECT gen_random_uuid(), 'plan-' || ? || '-' || g, 'plan-' || ? || '-' || g || '@taskmate.test',
+                       'not-used', 'USER', true, now()
+                FROM generate_series(1, ?) g
+                """, suffix, suffix, USERS);
+        List<UUID> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username LIKE ?", UUID.class, "plan-" + suffix + "-%");
+        userId = userIds.getFirst();
+
+        jdbcTemplate.update("""
+                INSERT INTO category (id, name, color, icon, user_id)
+                SELECT gen_random_uuid(), 'Category ' || g, '#FF5733', 'book', ? FROM generate_series(1, 10) g
+                """, userId);
+        categoryId = jdbcTemplate.queryForObject(
+                "SELECT id FROM category WHERE user_id = ? ORDER BY name LIMIT 1", UUID.class, userId);
+
+        jdbcTemplate.update("""
+                INSERT INTO task (id, title, due_date, status, priority, created_at, updated_at, version, is_favorite, user_id)
+                SELECT gen_random_uuid(), 'Task ' || g,
+                       now() - interval '365 days' + g * interval '7 minutes',
+                       (ARRAY['PENDING', 'DONE', 'MISSED'])[1 + g % 3],
+                       (ARRAY['LOW', 'MEDIUM', 'HIGH'])[1 + g % 5 % 3],
+                       now(), now() - g * interval '1 second', 0, g % 10 = 0, u.id
+                FROM unnest(?::uuid[]) AS u(id), generate_series(1, ?) g
+                """, userIds.toArray(UUID[]::new), TASKS_PER_USER);
+        jdbcTemplate.update("""
+                INSERT INTO task_category (task_id, category_id)
+                SELECT t.id, (SELECT c.id FROM category c WHERE c.user_id = t.user_id
+                              ORDER BY c.name OFFSET abs(hashtext(t.id::text)) % 10 LIMIT 1)
+                FROM task t WHERE t.user_id = ?
+                """, userId);
+        jdbcTemplate.execute("ANALYZE users, category, task, task_category");
+    }
+
+    private TaskListQuery query(
+            TaskStatus status, TaskPriority priority, Boolean favorite, UUID category, LocalDateTime dueFrom, String sort) {
+        return TaskListQuery.of(status, priority, favorite, category, dueFrom, null, sort);
+    }
+
+    private String assertOrderedIndexScan(TaskListQuery listQuery, String expectedIndex) {
+        statements.clear();
+        taskService.getAllTasks(userId, listQuery, 0, PAGE_SIZE, false);
+
+        String pageSql = statements.captured().stream()
+                .filter(sql -> sql.contains("order by"))
+                .findFirst()
+                .orElseThrow();
+        String plan = explainGeneric(pageSql);
+
+        assertThat(plan).as(plan).containsPattern("Index (Only )?Scan( Backward)? using " + expectedIndex);
+        assertThat(plan).as(plan).doesNotContainPattern("Seq Scan on task_hot");
+        assertThat(plan).as(plan).doesNotContainPattern("(?m)^\\s*(->\\s*)?(Incremental )?Sort");
+        return plan;
+    }
+
+    /**
+     * Plans the statement as a generic plan, i.e. for unknown parameter values, except the page size, which is what
+     * lets the planner prefer reading a few rows in index order over sorting everything that matches.
+     */
+    private String explainGeneric(String sql) {
+        int limitParameter = sql.lastIndexOf('?');
+        String withLimit = sql.substring(0, limitParameter) + PAGE_SIZE + sql.substring(limitParameter + 1);
+
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char c : withLimit.toCharArray()) {
+            numbered.append(c == '?' ? "$" + ++parameters : String.valueOf(c));
+        }
+
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE list_plan AS " + numbered);
+        try {
+            String arguments = String.join(", ", Collections.nCopies(parameters, "NULL"));
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE list_plan(" + arguments + ")", String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE list_plan");
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.salah.taskmate.task;
+
+import com.salah.taskmate.category.Category;
+import com.salah.taskmate.category.CategoryRepository;
+import com.salah.taskmate.shared.persistence.CapturingStatementInspector;
+import com.salah.taskmate.shared.persistence.StatementCaptureConfig;
+import com.salah.taskmate.task.dto.TaskResponse;
+import com.salah.taskmate.user.User;
+import com.salah.taskmate.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(StatementCaptureConfig.class)
+@Transactional
+class TaskReadQueryCountTests {
+
+    private static final int TASK_COUNT = 60;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CapturingStatementInspector statements;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private UUID userId;
+    private UUID taskId;
+    private LocalDate dueDay;
+
+    @BeforeEach
+    void seedTasks() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .username("query-count-" + suffix)
+                .email("query-count-" + suffix + "@taskmate.test")
+                .password("not-used")
+                .build());
+        userId = user.getId();
+
+        List<Category> categories = categoryRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> Category.builder()
+                        .name("Category " + i)
+                        .color("#FF5733")
+                        .icon("book")
+                        .user(user)
+                        .build())
+                .toList());
+
+        dueDay = LocalDate.now().plusDays(1);
+        List<Task> tasks = taskRepository.saveAll(IntStream.range(0, TASK_COUNT)
+                .mapToObj(i -> Task.builder()
+                        .title("Task " + i)
+                        .dueDate(dueDay.atStartOfDay().plusMinutes(i))
+                        .user(user)
+                        .categories(new HashSet<>(categories.subList(0, i % 3 + 1)))
+                        .build())
+                .toList());
+        taskId = tasks.get(0).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statements.clear();
+    }
+
+    @Test
+    void getAllTasksLoadsPageUserAndCategoriesInBoundedQueries() {
+        Page<TaskResponse> page = taskService.getAllTasks(userId, TaskListQuery.UNFILTERED, 0, PAGE_SIZE, false);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(task -> assertThat(task.getCategories()).isNotEmpty());
+        // page select, count, one batch of categories
+        assertThat(statements.count()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void getTasksByCursorLoadsPageUserAndCategoriesInBoundedQueries() {
+        var page = taskService.getTasksByCursor(userId, null, PAGE_SIZE, false);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allSatisfy(task -> assertThat(task.getUsername()).isNotNull());
+        assertThat(statements.count()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void getTasksByDateUsesTaskAndSeriesQueries() {
+        List<TaskResponse> tasks = taskService.getTasksByDate(userId, dueDay);
+
+        assertThat(tasks).hasSize(TASK_COUNT);
+        // tasks due that day, recurring series overlapping it
+        assertThat(statements.count()).isEqualTo(2);
+    }
+
+    @Test
+    void getTasksByDateExpandsSeriesInBoundedQueries() {
+        User user = userRepository.findById(userId).orElseThrow();
+        taskRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> Task.builder()
+                        .title("Series " + i)
+                        .dueDate(dueDay.minusDays(7).atTime(9, i))
+                        .recurrenceRule("FREQ=DAILY")
+                        .user(user)
+                        .build())
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+        statements.clear();
+
+        List<TaskResponse> tasks = taskService.getTasksByDate(userId, dueDay);
+
+        assertThat(tasks).hasSize(TASK_COUNT + 3);
+        assertThat(tasks).filteredOn(task -> task.getSeriesId() != null).hasSize(3);
+        // tasks due that day, series, materialized occurrence keys, one batch of series categories
+        assertThat(statements.count()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void getTaskByIdUsesSingleQuery() {
+        TaskResponse task = taskService.getTaskById(taskId, userId, false);
+
+        assertThat(task.getCategories()).hasSize(1);
+        assertThat(statements.count()).isEqualTo(1);
+    }
+}